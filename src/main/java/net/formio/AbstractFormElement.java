@@ -42,9 +42,16 @@ import net.formio.validation.validators.RequiredValidator;
 public abstract class AbstractFormElement<T> implements FormElement<T> {
 	// public because of introspection required by some template frameworks, constructors are not public
 	
-	final FormMapping<?> parent;
+	/** Not final only to allow attaching of freshly filled elements to their filled parent, see {@link #attachToParent(FormMapping)}. */
+	FormMapping<?> parent;
 	final String propertyName;
 	final List<Validator<T>> validators;
+	// Strings derived from the path of this element, computed on the first access 
+	// (racy single-check: concurrent computations produce equal strings).
+	String memoizedName;
+	String memoizedLabelKey;
+	private String memoizedElementId;
+	private String memoizedPlaceholderId;
 	
 	AbstractFormElement(FormMapping<?> parent, String propertyName, List<Validator<T>> validators) {
 		this.parent = parent;
@@ -55,6 +62,39 @@ public abstract class AbstractFormElement<T> implements FormElement<T> {
 		this.validators = validators; 
 	}
 	
+	/**
+	 * Sets new parent of this element in place, instead of creating a copy of this element 
+	 * with new parent. Only for internal usage when filling the form: Must be called only 
+	 * for newly created element that is not yet shared with anybody (is not part of form definition).
+	 * @param parent
+	 */
+	void attachToParent(FormMapping<?> parent) {
+		this.parent = parent;
+		resetMemoizedPaths();
+	}
+	
+	/**
+	 * Takes over the label key of element of form definition this element was filled from.
+	 * Label keys do not contain indexes of list mappings, so they are the same for all filled copies.
+	 * @param definition
+	 */
+	void copyLabelKey(FormElement<?> definition) {
+		if (definition instanceof AbstractFormElement<?>) {
+			this.memoizedLabelKey = ((AbstractFormElement<?>)definition).getDefaultLabelKey();
+		}
+	}
+	
+	/**
+	 * Forgets strings derived from the path of this element (after the path has changed).
+	 * Label key is kept, because filled elements are attached only to the filled copy 
+	 * of their parent, so their path without indexes does not change.
+	 */
+	void resetMemoizedPaths() {
+		this.memoizedName = null;
+		this.memoizedElementId = null;
+		this.memoizedPlaceholderId = null;
+	}
+	
 	/**
 	 * Returns validation messages of form element.
 	 * @return
@@ -204,7 +244,9 @@ public abstract class AbstractFormElement<T> implements FormElement<T> {
 			}
 			if (foundEl == null) {
 				FormMapping<?> root = getRoot();
-				if (root != null) {
+				if (root instanceof BasicFormMapping<?>) {
+					foundEl = (FormElement<U>)((BasicFormMapping<?>)root).getIndexedElement(name);
+				} else if (root != null) {
 					foundEl = FormUtils.findElementRecursive(cls, name, root);
 				}
 			}
@@ -255,14 +297,38 @@ public abstract class AbstractFormElement<T> implements FormElement<T> {
 	
 	@Override
 	public String getElementId() {
-		return RenderUtils.getElementIdForName(getName());
+		String id = this.memoizedElementId;
+		if (id == null) {
+			id = RenderUtils.getElementIdForName(getName());
+			this.memoizedElementId = id;
+		}
+		return id;
 	}
 	
 	@Override
 	public String getElementPlaceholderId() {
-		Config c = getConfig();
-		String sep = c != null ? c.getPathSeparator() : Config.DEFAULT_PATH_SEP;
-		return getElementPlaceholderId(getName(), sep);
+		String id = this.memoizedPlaceholderId;
+		if (id == null) {
+			Config c = getConfig();
+			String sep = c != null ? c.getPathSeparator() : Config.DEFAULT_PATH_SEP;
+			id = getElementPlaceholderId(getName(), sep);
+			this.memoizedPlaceholderId = id;
+		}
+		return id;
+	}
+	
+	/**
+	 * Returns label key derived from the name of this element (without indexes of list mappings).
+	 * Filled copies take over the label key of form definition, see {@link #copyLabelKey(FormElement)}.
+	 * @return
+	 */
+	String getDefaultLabelKey() {
+		String key = this.memoizedLabelKey;
+		if (key == null) {
+			key = FormUtils.labelKeyForName(getName());
+			this.memoizedLabelKey = key;
+		}
+		return key;
 	}
 	
 	public static String getElementPlaceholderId(String elementName, String pathSep) {
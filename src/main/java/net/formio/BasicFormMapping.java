@@ -19,6 +19,8 @@ package net.formio;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
@@ -54,6 +56,8 @@ import net.formio.validation.ValidationResult;
 public class BasicFormMapping<T> extends AbstractFormElement<T> implements FormMapping<T> {
 	// public because of introspection required by some template frameworks, constructors are not public
 
+	private static final FormElementOrderAscComparator ELEMENT_ORDER_COMPARATOR = new FormElementOrderAscComparator();
+	
 	final Class<T> dataClass;
 	final Instantiator instantiator;
 	Config config;
@@ -69,6 +73,10 @@ public class BasicFormMapping<T> extends AbstractFormElement<T> implements FormM
 	final String labelKey;
 	final int order;
 	final Integer index;
+	/** Lazily computed nested mappings and fields ordered by their order. */
+	private volatile List<FormElement<?>> elements;
+	/** Lazily built index of all elements of this (root) mapping by their names. */
+	private volatile Map<String, FormElement<?>> elementsByName;
 	
 	/**
 	 * Constructs a mapping from the given builder.
@@ -89,13 +97,15 @@ public class BasicFormMapping<T> extends AbstractFormElement<T> implements FormM
 		this.secured = builder.secured;
 		this.labelKey = builder.labelKey;
 		this.validationResult = builder.validationResult;
-		this.formProperties = new FormMappingPropertiesImpl(builder.properties);
+		this.formProperties = builder.properties != null ? 
+			new FormMappingPropertiesImpl(builder.properties) : 
+			new FormMappingPropertiesImpl(builder.sourceProperties);
 		this.order = builder.order;
 		this.index = builder.index;
 		this.fields = simpleCopy ? Collections.unmodifiableMap(builder.fields) : 
-			Clones.fieldsWithParent(this, builder.fields);
+			Clones.fieldsWithParent(this, builder.fields, builder.attachableElements);
 		this.nested = simpleCopy ? Collections.unmodifiableMap(builder.nested) : 
-			Clones.mappingsWithParent(this, builder.nested, builder.dataClass, getConfig());
+			Clones.mappingsWithParent(this, builder.nested, builder.dataClass, getConfig(), builder.attachableElements);
 	}
 	
 	/**
@@ -132,7 +142,10 @@ public class BasicFormMapping<T> extends AbstractFormElement<T> implements FormM
 
 	@Override
 	public String getName() {
-		String name = null;
+		String name = this.memoizedName;
+		if (name != null) {
+			return name;
+		}
 		if (getParent() != null) {
 			String pathSep = getPathSeparator(); 
 			if (index != null) {
@@ -150,6 +163,7 @@ public class BasicFormMapping<T> extends AbstractFormElement<T> implements FormM
 		if (name == null || name.isEmpty()) {
 			throw new IllegalStateException("Name must be filled");
 		}
+		this.memoizedName = name;
 		return name;
 	}
 	
@@ -175,11 +189,17 @@ public class BasicFormMapping<T> extends AbstractFormElement<T> implements FormM
 	
 	@Override
 	public List<FormElement<?>> getElements() {
-		List<FormElement<?>> elems = new ArrayList<FormElement<?>>();
-		elems.addAll(this.nested.values());
-		elems.addAll(this.fields.values());
-		Collections.sort(elems, new FormElementOrderAscComparator());
-		return Collections.unmodifiableList(elems);
+		List<FormElement<?>> elems = this.elements;
+		if (elems == null) {
+			// fields and nested mappings do not change, the ordered list can be computed only once
+			List<FormElement<?>> sortedElems = new ArrayList<FormElement<?>>(this.nested.size() + this.fields.size());
+			sortedElems.addAll(this.nested.values());
+			sortedElems.addAll(this.fields.values());
+			Collections.sort(sortedElems, ELEMENT_ORDER_COMPARATOR);
+			elems = Collections.unmodifiableList(sortedElems);
+			this.elements = elems;
+		}
+		return elems;
 	}
 	
 	@Override
@@ -225,7 +245,9 @@ public class BasicFormMapping<T> extends AbstractFormElement<T> implements FormM
 	
 	@Override
 	public BasicFormMapping<T> fill(FormData<T> editedObj, Location loc, RequestContext ctx) {
-		return fillInternal(editedObj, loc, ctx).build(getConfig());
+		BasicFormMapping<T> filledMapping = fillInternal(editedObj, loc, ctx).build(getConfig());
+		filledMapping.copyLabelKey(this);
+		return filledMapping;
 	}
 	
 	@Override
@@ -317,6 +339,9 @@ public class BasicFormMapping<T> extends AbstractFormElement<T> implements FormM
 		final Location givenOrCfgLoc = getLocation(loc);
 		final RequestProcessingError error = paramsProvider.getRequestError();
 		Map<String, BoundValuesInfo> valuesToBind = prepareValuesToBindForFields(paramsProvider, givenOrCfgLoc);
+		// validation of this mapping is merged before the validations of nested mappings
+		final DeferredValidations deferred = DeferredValidations.current();
+		final int deferredPosition = deferred != null ? deferred.reserve() : -1;
 		
 		// binding (and validating) data from paramsProvider to objects for nested mappings
 		// and adding it to available values to bind
@@ -343,12 +368,20 @@ public class BasicFormMapping<T> extends AbstractFormElement<T> implements FormM
 		final BoundData<T> boundData = getConfig().getBinder().bindToNewInstance(this.dataClass, instantiator, valuesToBind);
 		
 		// validation of resulting object for this mapping
-		ValidationResult validationRes = validateInternal(
-			boundData.getData(),
-			error, 
-			FormUtils.flatten(boundData.getPropertyBindErrors().values()), 
-			givenOrCfgLoc.getLocale(), 
-			validationGroups); 
+		List<ParseError> parseErrors = FormUtils.flatten(boundData.getPropertyBindErrors().values());
+		ValidationResult validationRes;
+		if (deferred != null) {
+			// validated later by list mapping that binds the rows
+			deferred.record(deferredPosition, this, boundData.getData(), error, parseErrors, givenOrCfgLoc.getLocale(), validationGroups);
+			validationRes = ValidationResult.empty;
+		} else {
+			validationRes = validateInternal(
+				boundData.getData(),
+				error, 
+				parseErrors, 
+				givenOrCfgLoc.getLocale(), 
+				validationGroups);
+		}
 		
 		Collection<ValidationResult> validationResults = new ArrayList<ValidationResult>();
 		validationResults.add(validationRes);
@@ -363,7 +396,7 @@ public class BasicFormMapping<T> extends AbstractFormElement<T> implements FormM
 	public String getLabelKey() {
 		String key = labelKey;
 		if (key == null) {
-			key = FormUtils.labelKeyForName(getName());
+			key = getDefaultLabelKey();
 		}
 		return key;
 	}
@@ -437,6 +470,48 @@ public class BasicFormMapping<T> extends AbstractFormElement<T> implements FormM
 		return this.parent == null;
 	}
 	
+	/**
+	 * Forgets strings derived from the paths of this mapping and all its nested elements.
+	 */
+	@Override
+	void resetMemoizedPaths() {
+		super.resetMemoizedPaths();
+		this.elementsByName = null;
+		for (FormField<?> field : this.fields.values()) {
+			if (field instanceof AbstractFormElement<?>) {
+				((AbstractFormElement<?>)field).resetMemoizedPaths();
+			}
+		}
+		for (FormMapping<?> mapping : this.nested.values()) {
+			if (mapping instanceof AbstractFormElement<?>) {
+				((AbstractFormElement<?>)mapping).resetMemoizedPaths();
+			}
+		}
+		for (FormMapping<?> mapping : getList()) {
+			if (mapping instanceof AbstractFormElement<?>) {
+				((AbstractFormElement<?>)mapping).resetMemoizedPaths();
+			}
+		}
+	}
+	
+	/**
+	 * Returns element with given name from this mapping or its nested elements 
+	 * (including elements for individual indexes of list mappings), or null if there is no such element.
+	 * Index of elements by names is built on the first call.
+	 * @param name
+	 * @return
+	 */
+	FormElement<?> getIndexedElement(String name) {
+		Map<String, FormElement<?>> index = this.elementsByName;
+		if (index == null) {
+			Map<String, FormElement<?>> elements = new HashMap<String, FormElement<?>>();
+			FormUtils.indexElementsRecursive(this, elements);
+			index = Collections.unmodifiableMap(elements);
+			this.elementsByName = index;
+		}
+		return index.get(name);
+	}
+	
 	/**
 	 * Returns separator of names in full path to form fields.
 	 * @return
@@ -522,10 +597,33 @@ public class BasicFormMapping<T> extends AbstractFormElement<T> implements FormM
 			filledFields, 
 			Collections.unmodifiableMap(filledNestedMappings))
 			.filledObject(editedObj.getData())
-			.validationResult(editedObj.getValidationResult());
+			.validationResult(editedObj.getValidationResult())
+			.attachableElements(newlyFilledElements(filledFields, filledNestedMappings));
 		return builder;
 	}
 	
+	/**
+	 * Returns filled elements that were newly created by filling (not the detached ones 
+	 * taken from this definition), so they can be attached to the filled mapping without copying.
+	 * @param filledFields
+	 * @param filledNestedMappings
+	 * @return
+	 */
+	Set<FormElement<?>> newlyFilledElements(Map<String, FormField<?>> filledFields, Map<String, FormMapping<?>> filledNestedMappings) {
+		Set<FormElement<?>> elements = Collections.newSetFromMap(new IdentityHashMap<FormElement<?>, Boolean>());
+		for (Map.Entry<String, FormField<?>> e : filledFields.entrySet()) {
+			if (e.getValue() != this.fields.get(e.getKey())) {
+				elements.add(e.getValue());
+			}
+		}
+		for (Map.Entry<String, FormMapping<?>> e : filledNestedMappings.entrySet()) {
+			if (e.getValue() != this.nested.get(e.getKey())) {
+				elements.add(e.getValue());
+			}
+		}
+		return elements;
+	}
+	
 	/**
 	 * Gather values of object's formProperties.
 	 * @param object
@@ -671,11 +769,15 @@ public class BasicFormMapping<T> extends AbstractFormElement<T> implements FormM
 				// propagated here
 			}
 		}
-		return new FieldProps<U>(field, 
+		FormField<U> filledField = new FieldProps<U>(field, 
 			FormUtils.<U>convertObjectToList(value), 
 			loc, 
 			getConfig().getFormatters(),
 			preferedStringValue).choices(choiceProvider).build();
+		if (filledField instanceof AbstractFormElement<?>) {
+			((AbstractFormElement<?>)filledField).copyLabelKey(field);
+		}
+		return filledField;
 	}
 	
 	private String getOriginalStringValueFromParseError(List<ConstraintViolationMessage> fieldMessages) {
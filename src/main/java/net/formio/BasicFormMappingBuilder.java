@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import net.formio.ajax.JsEvent;
 import net.formio.ajax.action.AjaxAction;
@@ -39,6 +40,7 @@ import net.formio.common.heterog.HeterogCollections;
 import net.formio.common.heterog.HeterogMap;
 import net.formio.format.Location;
 import net.formio.props.FormElementProperty;
+import net.formio.props.FormMappingProperties;
 import net.formio.upload.UploadedFile;
 import net.formio.validation.ValidationResult;
 import net.formio.validation.Validator;
@@ -67,10 +69,16 @@ public class BasicFormMappingBuilder<T> {
 	boolean automatic;
 	boolean secured;
 	String labelKey;
+	/** Properties set in this builder, or null if the properties of source mapping are used unchanged. */
 	HeterogMap<String> properties;
+	FormMappingProperties sourceProperties;
 	int order;
 	private int nextNestedElementOrder;
 	Integer index;
+	/** Newly filled fields and nested mappings that can be attached to built mapping without copying. */
+	Set<FormElement<?>> attachableElements;
+	/** Registry that memoizes automatic nested mappings, or null if nested mappings are always built. */
+	FormDefinitionRegistry registry;
 
 	/**
 	 * Should be constructed only via {@link Forms} entry point of API.
@@ -103,9 +111,9 @@ public class BasicFormMappingBuilder<T> {
 		this.nested = Collections.unmodifiableMap(nested);
 		this.secured = src.secured;
 		this.validationResult = src.validationResult;
-		final HeterogMap<String> properties = HeterogCollections.<String>newLinkedMap();
-		properties.putAllFromSource(src.formProperties.getHeterogMap());
-		this.properties = properties;
+		// properties of source mapping are copied only if they are changed
+		this.properties = null;
+		this.sourceProperties = src.formProperties;
 		this.order = src.order;
 		this.index = src.index;
 		this.validators = new ArrayList<Validator<T>>(src.validators);
@@ -182,6 +190,11 @@ public class BasicFormMappingBuilder<T> {
 		return this;
 	}
 	
+	BasicFormMappingBuilder<T> attachableElements(Set<FormElement<?>> attachableElements) {
+		this.attachableElements = attachableElements;
+		return this;
+	}
+	
 	/**
 	 * Adds validator.
 	 * @param validator
@@ -301,6 +314,11 @@ public class BasicFormMappingBuilder<T> {
 	}
 	
 	public <U> BasicFormMappingBuilder<T> property(FormElementProperty<U> fieldProperty, U value) {
+		if (this.properties == null) {
+			final HeterogMap<String> properties = HeterogCollections.<String>newLinkedMap();
+			properties.putAllFromSource(this.sourceProperties.getHeterogMap());
+			this.properties = properties;
+		}
 		this.properties.putTyped(fieldProperty, value);
 		return this;
 	}
@@ -494,24 +512,12 @@ public class BasicFormMappingBuilder<T> {
 								if (itemClass == null) 
 									throw new IllegalStateException("Cannot resolve item type of collection type of property " + 
 										propertyName + " in class " + this.dataClass.getName());
-								BasicFormMapping<?> mapping = null;
-								if (this.secured) {
-									mapping = Forms.automaticSecured(itemClass, propertyName, null, MappingType.LIST).build(config);
-								} else {
-									mapping = Forms.automatic(itemClass, propertyName, null, MappingType.LIST).build(config);
-								}
-								this.nested(mapping);
+								this.nested(automaticNestedMapping(itemClass, propertyName, MappingType.LIST, config));
 							}
 						} else {
 							// some complex or unknown type
 							assertValidComplexTypeProperty(propertyType, propertyName);
-							BasicFormMapping<?> mapping = null;
-							if (this.secured) {
-								mapping = Forms.automaticSecured(propertyType, propertyName).build(config);
-							} else {
-								mapping = Forms.automatic(propertyType, propertyName).build(config);
-							}
-							this.nested(mapping);
+							this.nested(automaticNestedMapping(propertyType, propertyName, MappingType.SINGLE, config));
 						}
 					}
 				}
@@ -519,6 +525,20 @@ public class BasicFormMappingBuilder<T> {
 		}
 	}
 	
+	private <U> BasicFormMapping<U> automaticNestedMapping(Class<U> dataClass, String propertyName, MappingType mappingType, Config config) {
+		if (this.registry != null) {
+			// definition of nested mapping is shared by all parents built with the same config
+			return this.registry.definition(dataClass, propertyName, null, mappingType, this.secured, config);
+		}
+		BasicFormMapping<U> mapping = null;
+		if (this.secured) {
+			mapping = Forms.automaticSecured(dataClass, propertyName, null, mappingType).build(config);
+		} else {
+			mapping = Forms.automatic(dataClass, propertyName, null, mappingType).build(config);
+		}
+		return mapping;
+	}
+	
 	void fieldForAuthToken() {
 		if (!fields.containsKey(Forms.AUTH_TOKEN_FIELD_NAME)) {
 			field(Forms.AUTH_TOKEN_FIELD_NAME, "hidden");
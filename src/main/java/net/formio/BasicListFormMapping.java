@@ -17,6 +17,7 @@
 package net.formio;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -25,6 +26,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 import net.formio.data.RequestContext;
 import net.formio.format.Location;
@@ -46,6 +51,9 @@ public class BasicListFormMapping<T> extends BasicFormMapping<T> {
 	// public because of introspection required by some template frameworks, constructors are not public
 	// make another type parameter for element of list (this is new parameter) and for the list itself = T?
 	
+	/** True in threads that process a row of list mapping on the list validation executor. */
+	private static final ThreadLocal<Boolean> PROCESSING_ROW = new ThreadLocal<Boolean>();
+	
 	/**
 	 * Mappings for individual elements in list of edited objects.
 	 */
@@ -112,46 +120,59 @@ public class BasicListFormMapping<T> extends BasicFormMapping<T> {
 		// index-related mapping.
 		List<FormMapping<T>> listMappings = new ArrayList<FormMapping<T>>();
 		for (int index = 0; index <= maxIndex; index++) {
-			ValidationResult res = null;
-			if (this.getValidationResult() != null) {
-				res = new ValidationResult(
-					new LinkedHashMap<String, List<ConstraintViolationMessage>>(this.getValidationResult().getFieldMessages()),
-					new ArrayList<ConstraintViolationMessage>(this.getValidationResult().getGlobalMessages()));
-			}
-			
-			// constructing single mapping for index:
+			// constructing single mapping for index (immutable validation result can be shared):
 			BasicFormMappingBuilder<T> builder = new BasicFormMappingBuilder<T>(this, this.fields, this.nested)
 				.index(Integer.valueOf(index))
 				.order(index)
-				.validationResult(res);
+				.validationResult(this.getValidationResult());
 			builder.mappingType = MappingType.SINGLE;
 			listMappings.add(builder.build(getConfig()));
 		}
 		
+		// Instances prepared by client for individual indexes
+		final List<T> instances = new ArrayList<T>();
+		if (instance != null) {
+			Iterable<T> itColl = checkIterable(instance);
+			for (Iterator<T> it = itColl.iterator(); it.hasNext() && instances.size() < listMappings.size(); ) {
+				instances.add(it.next());
+			}
+		}
+		
 		// Loading data for constructed mappings for individual indexes
-		// Tie these nested objects together to a list, this will be later converted to configured type of a collection for list mappings
+		// Tie these nested objects together to a list, this will be later converted to configured type of a collection for list mappings.
+		// Request parameters and context are read only by this thread, validations of the rows can run in parallel.
+		final int rowCount = listMappings.size();
+		final DeferredValidations deferred = DeferredValidations.current() == null && isProcessedInParallel(rowCount) ? 
+			DeferredValidations.start() : null;
+		final int[] deferredEnds = new int[rowCount];
 		List<T> data = new ArrayList<T>();
-		Map<String, List<ConstraintViolationMessage>> fieldMsgs = new LinkedHashMap<String, List<ConstraintViolationMessage>>();
-		List<ConstraintViolationMessage> globalMsgs = new ArrayList<ConstraintViolationMessage>();
-		for (int index = 0; index < listMappings.size(); index++) {
-			FormMapping<T> m = listMappings.get(index);
-			T instanceForIndex = null;
-			if (instance != null) {
-				Iterable<T> itColl = checkIterable(instance);
-				int j = 0;
-				for (Iterator<T> it = itColl.iterator(); it.hasNext(); ) {
-					T itValue = it.next();
-					if (j == index) {
-						instanceForIndex = itValue;
-						break;
-					}
-					j++;
+		final List<ValidationResult> validationResults = new ArrayList<ValidationResult>();
+		try {
+			for (int index = 0; index < rowCount; index++) {
+				T instanceForIndex = index < instances.size() ? instances.get(index) : null;
+				FormData<T> formData = listMappings.get(index).bind(paramsProvider, givenOrCfgLoc, instanceForIndex, context, validationGroups);
+				data.add(formData.getData());
+				validationResults.add(formData.getValidationResult());
+				if (deferred != null) {
+					deferredEnds[index] = deferred.size();
+				}
+			}
+		} finally {
+			if (deferred != null) {
+				deferred.finish();
+			}
+		}
+		if (deferred != null) {
+			List<ValidationResult> deferredResults = processRows(rowCount, new RowTask<ValidationResult>() {
+				@Override
+				public ValidationResult process(int index) {
+					return deferred.validate(index > 0 ? deferredEnds[index - 1] : 0, deferredEnds[index]);
 				}
+			});
+			for (int index = 0; index < rowCount; index++) {
+				validationResults.set(index, Clones.mergedValidationResults(
+					Arrays.asList(deferredResults.get(index), validationResults.get(index))));
 			}
-			FormData<T> formData = m.bind(paramsProvider, givenOrCfgLoc, instanceForIndex, context, validationGroups);
-			data.add(formData.getData());
-			fieldMsgs.putAll(formData.getValidationResult().getFieldMessages());
-			globalMsgs.addAll(formData.getValidationResult().getGlobalMessages());
 		}
 		
 		if (!(error instanceof MaxSizeExceededError)) {
@@ -165,7 +186,7 @@ public class BasicListFormMapping<T> extends BasicFormMapping<T> {
 			}
 		}
 		
-		ValidationResult validationRes = new ValidationResult(fieldMsgs, globalMsgs);
+		ValidationResult validationRes = Clones.mergedValidationResults(validationResults);
 		Object boundObjects = getConfig().getCollectionBuilders().buildCollection(getConfig().getListMappingCollection(), getDataClass(), data);
 		FormData<Object> formData = new FormData<Object>(boundObjects, validationRes);
 		return (FormData<T>)formData;
@@ -211,9 +232,12 @@ public class BasicListFormMapping<T> extends BasicFormMapping<T> {
 					.index(Integer.valueOf(index))
 					.order(index)
 					.validationResult(formDataAtIndex.getValidationResult())
-					.filledObject(formDataAtIndex.getData());
+					.filledObject(formDataAtIndex.getData())
+					.attachableElements(newlyFilledElements(filledFields, filledIndexedNestedMappings));
 				builder.mappingType = MappingType.SINGLE;
-				newMappings.add(builder.build(getConfig()));
+				BasicFormMapping<T> rowMapping = builder.build(getConfig());
+				rowMapping.copyLabelKey(this);
+				newMappings.add(rowMapping);
 				index++;
 			}
 		}
@@ -228,6 +252,20 @@ public class BasicListFormMapping<T> extends BasicFormMapping<T> {
 		return builder;
 	}
 	
+	/**
+	 * Mappings for individual indexes have the same parent as this list mapping;
+	 * they are newly created when filling, so they are attached together with this mapping.
+	 */
+	@Override
+	void attachToParent(FormMapping<?> parent) {
+		super.attachToParent(parent);
+		for (FormMapping<T> mapping : this.listOfMappings) {
+			if (mapping instanceof AbstractFormElement<?>) {
+				((AbstractFormElement<?>)mapping).attachToParent(parent);
+			}
+		}
+	}
+	
 	@Override
 	public List<FormMapping<T>> getList() {
 		return this.listOfMappings;
@@ -244,12 +282,14 @@ public class BasicListFormMapping<T> extends BasicFormMapping<T> {
 	}
 	
 	@Override
-	ValidationResult validate(Locale locale, Class<?> ... validationGroups) {
-		Collection<ValidationResult> validationResults = new ArrayList<ValidationResult>();
-		List<FormMapping<T>> listMappings = getList();
-		for (int index = 0; index < listMappings.size(); index++) {
-			validationResults.add(((BasicFormMapping<?>)listMappings.get(index)).validate(locale, validationGroups));
-		}
+	ValidationResult validate(final Locale locale, final Class<?> ... validationGroups) {
+		final List<FormMapping<T>> listMappings = getList();
+		Collection<ValidationResult> validationResults = processRows(listMappings.size(), new RowTask<ValidationResult>() {
+			@Override
+			public ValidationResult process(int index) {
+				return ((BasicFormMapping<?>)listMappings.get(index)).validate(locale, validationGroups);
+			}
+		});
 		return Clones.mergedValidationResults(validationResults);
 	}
 	
@@ -265,7 +305,69 @@ public class BasicListFormMapping<T> extends BasicFormMapping<T> {
 		return newNestedMappings;
 	}
 	
+	/**
+	 * Processes rows of this list mapping using given task (validation of rows), in parallel if the list validation 
+	 * executor is configured. Rows of list mappings nested in a row that is already processed 
+	 * by the executor are processed sequentially, so the worker threads do not wait for tasks 
+	 * queued behind them (which would deadlock bounded executors). 
+	 * Returned results are always in the order of rows.
+	 * @param rowCount
+	 * @param task
+	 * @return results for individual rows
+	 */
+	private <R> List<R> processRows(int rowCount, final RowTask<R> task) {
+		final Executor executor = getConfig().getListValidationExecutor();
+		List<R> results = new ArrayList<R>(rowCount);
+		if (!isProcessedInParallel(rowCount)) {
+			for (int index = 0; index < rowCount; index++) {
+				results.add(task.process(index));
+			}
+		} else {
+			List<CompletableFuture<R>> futures = new ArrayList<CompletableFuture<R>>(rowCount);
+			for (int index = 0; index < rowCount; index++) {
+				final int rowIndex = index;
+				futures.add(CompletableFuture.supplyAsync(new Supplier<R>() {
+					@Override
+					public R get() {
+						PROCESSING_ROW.set(Boolean.TRUE);
+						try {
+							return task.process(rowIndex);
+						} finally {
+							PROCESSING_ROW.remove();
+						}
+					}
+				}, executor));
+			}
+			try {
+				for (CompletableFuture<R> future : futures) {
+					results.add(future.join());
+				}
+			} catch (CompletionException ex) {
+				if (ex.getCause() instanceof RuntimeException) {
+					throw (RuntimeException)ex.getCause();
+				}
+				if (ex.getCause() instanceof Error) {
+					throw (Error)ex.getCause();
+				}
+				throw ex;
+			}
+		}
+		return results;
+	}
+	
+	private boolean isProcessedInParallel(int rowCount) {
+		return getConfig().getListValidationExecutor() != null && rowCount > 1 && PROCESSING_ROW.get() == null;
+	}
+	
 	private List<FormMapping<T>> newListOfMappings(List<FormMapping<T>> listOfMappings) {
 		return Collections.unmodifiableList(new ArrayList<FormMapping<T>>(listOfMappings));
 	}
+	
+	/**
+	 * Processing of one row of list mapping.
+	 * @param <R> type of result
+	 */
+	private interface RowTask<R> {
+		R process(int index);
+	}
 }
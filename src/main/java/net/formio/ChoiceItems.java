@@ -16,8 +16,16 @@
  */
 package net.formio;
 
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import net.formio.choice.CacheableChoiceProvider;
 import net.formio.choice.ChoiceItem;
 import net.formio.choice.ChoiceRenderer;
 
@@ -26,45 +34,180 @@ import net.formio.choice.ChoiceRenderer;
  * @author Radek Beran
  */
 class ChoiceItems {
+	/** Maximum count of cached indexes of cacheable choice providers; the oldest entries are evicted when exceeded. */
+	static final int MAX_CACHED_INDEXES = 1024;
+	
+	/** 
+	 * Indexes of items of cacheable choice providers. Providers and choice renderers are referenced weakly 
+	 * by the keys, so the cache does not prevent them from being garbage collected; only the latest version 
+	 * of items is kept for a provider and renderer. 
+	 */
+	private static final ConcurrentMap<IndexKey, VersionedIndex> INDEXES = new ConcurrentHashMap<IndexKey, VersionedIndex>();
+	
 	/**
 	 * Converts values from request (choosen ids) to choice items (from a codebook).
+	 * Items of the codebook are fetched only once; for more request values, the items are 
+	 * found using index of items by their ids.
 	 * @param field
 	 * @param requestValues
 	 * @return
 	 */
 	static <U> U[] convertParamsToChoiceItems(FormField<U> field, String[] requestValues) {
 		U[] items = (U[])new Object[requestValues.length];
-		for (int i = 0; i < requestValues.length; i++) {
-			String itemId = requestValues[i];
-			items[i] = findChoiceItem(field, itemId);
+		if (requestValues.length == 0 || field.getChoices() == null) {
+			return items;
+		}
+		if (requestValues.length == 1 && !(field.getChoices() instanceof CacheableChoiceProvider)) {
+			items[0] = findChoiceItem(field, field.getChoices().getItems(), requestValues[0]);
+		} else {
+			Map<String, Object> index = getItemsIndex(field);
+			for (int i = 0; i < requestValues.length; i++) {
+				String itemId = requestValues[i];
+				items[i] = itemId != null ? (U)index.get(itemId) : null;
+			}
 		}
 		return items;
 	}
 	
+	/**
+	 * Returns items of the codebook of given field indexed by their rendered ids.
+	 * Index of items from {@link CacheableChoiceProvider} is cached for the version of items,
+	 * index of items from other providers is built for each call (for the field being processed 
+	 * in the current request).
+	 * @param field
+	 * @return
+	 */
+	static <U> Map<String, Object> getItemsIndex(FormField<U> field) {
+		if (!(field.getChoices() instanceof CacheableChoiceProvider)) {
+			return indexItems(field, field.getChoices().getItems());
+		}
+		CacheableChoiceProvider<?> provider = (CacheableChoiceProvider<?>)field.getChoices();
+		long version = provider.getVersion();
+		IndexKey key = new IndexKey(provider, field.getChoiceRenderer());
+		VersionedIndex index = INDEXES.get(key);
+		if (index == null || index.version != version) {
+			index = new VersionedIndex(version, indexItems(field, field.getChoices().getItems()));
+			evictIfFull();
+			INDEXES.put(key, index);
+		}
+		return index.items;
+	}
+	
+	static int cachedIndexesCount() {
+		return INDEXES.size();
+	}
+	
+	private static void evictIfFull() {
+		if (INDEXES.size() < MAX_CACHED_INDEXES) {
+			return;
+		}
+		// entries of collected providers or renderers first
+		Iterator<IndexKey> it = INDEXES.keySet().iterator();
+		while (it.hasNext()) {
+			if (it.next().isCollected()) {
+				it.remove();
+			}
+		}
+		it = INDEXES.keySet().iterator();
+		while (INDEXES.size() >= MAX_CACHED_INDEXES && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+	
+	private static <U> Map<String, Object> indexItems(FormField<U> field, List<? extends U> items) {
+		Map<String, Object> index = new HashMap<String, Object>();
+		if (items != null) {
+			ChoiceRenderer<U> choiceRenderer = field.getChoiceRenderer();
+			int itemIndex = 0;
+			for (U item : items) {
+				ChoiceItem choiceItem = choiceRenderer.getItem(item, itemIndex);
+				if (choiceItem.getId() != null && !index.containsKey(choiceItem.getId())) {
+					// the first item with given id is found as in linear search
+					index.put(choiceItem.getId(), item);
+				}
+				itemIndex++;
+			}
+		}
+		return Collections.unmodifiableMap(index);
+	}
+	
 	/**
 	 * Returns choice item (item from a codebook) with given rendered itemId, 
 	 * or {@code null} if not found.
 	 * @param field
+	 * @param items
 	 * @param itemId
 	 * @return
 	 */
-	private static <U> U findChoiceItem(FormField<U> field, String itemId) {
+	private static <U> U findChoiceItem(FormField<U> field, List<? extends U> items, String itemId) {
 		U foundItem = null;
-		if (itemId != null && field.getChoices() != null) {
-			List<? extends U> items = field.getChoices().getItems();
-			if (items != null) {
-				ChoiceRenderer<U> choiceRenderer = field.getChoiceRenderer();
-				int itemIndex = 0;
-				for (U item : items) {
-					ChoiceItem choiceItem = choiceRenderer.getItem(item, itemIndex);
-					if (choiceItem.getId() != null && choiceItem.getId().equals(itemId)) {
-						foundItem = item;
-						break;
-					}
-					itemIndex++;
+		if (itemId != null && items != null) {
+			ChoiceRenderer<U> choiceRenderer = field.getChoiceRenderer();
+			int itemIndex = 0;
+			for (U item : items) {
+				ChoiceItem choiceItem = choiceRenderer.getItem(item, itemIndex);
+				if (choiceItem.getId() != null && choiceItem.getId().equals(itemId)) {
+					foundItem = item;
+					break;
 				}
+				itemIndex++;
 			}
 		}
 		return foundItem;
 	}
+	
+	/**
+	 * Index of items of given version of a choice provider.
+	 */
+	private static final class VersionedIndex {
+		final long version;
+		final Map<String, Object> items;
+		
+		VersionedIndex(long version, Map<String, Object> items) {
+			this.version = version;
+			this.items = items;
+		}
+	}
+	
+	/**
+	 * Identifies choice provider with ids of items given by choice renderer. 
+	 * Provider and renderer are referenced weakly and compared by identity;
+	 * key with collected provider or renderer is not equal to any other key.
+	 */
+	private static final class IndexKey {
+		private final WeakReference<CacheableChoiceProvider<?>> provider;
+		private final WeakReference<ChoiceRenderer<?>> choiceRenderer;
+		private final int hash;
+		
+		IndexKey(CacheableChoiceProvider<?> provider, ChoiceRenderer<?> choiceRenderer) {
+			this.provider = new WeakReference<CacheableChoiceProvider<?>>(provider);
+			this.choiceRenderer = new WeakReference<ChoiceRenderer<?>>(choiceRenderer);
+			this.hash = 31 * System.identityHashCode(provider) + System.identityHashCode(choiceRenderer);
+		}
+		
+		boolean isCollected() {
+			return provider.get() == null || choiceRenderer.get() == null;
+		}
+		
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof IndexKey))
+				return false;
+			IndexKey other = (IndexKey) obj;
+			return hash == other.hash && same(provider, other.provider) && same(choiceRenderer, other.choiceRenderer);
+		}
+		
+		private static boolean same(WeakReference<?> a, WeakReference<?> b) {
+			Object referent = a.get();
+			return referent != null && referent == b.get();
+		}
+	}
 }
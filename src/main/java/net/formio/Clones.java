@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import net.formio.validation.ConstraintViolationMessage;
 import net.formio.validation.ValidationResult;
@@ -42,20 +43,13 @@ final class Clones {
 	}
 	
 	/**
-	 * Returns merged validation results.
+	 * Returns merged validation results. Messages of given results are shared
+	 * by the merged result, not copied.
 	 * @param validationResults
 	 * @return
 	 */
 	static ValidationResult mergedValidationResults(Collection<ValidationResult> validationResults) {
-		// gather validation messages from nested mappings
-		final Map<String, List<ConstraintViolationMessage>> fieldMsgs = new LinkedHashMap<String, List<ConstraintViolationMessage>>();
-		final List<ConstraintViolationMessage> globalMsgs = new ArrayList<ConstraintViolationMessage>();
-		for (ValidationResult res : validationResults) {
-			fieldMsgs.putAll(res.getFieldMessages());
-			globalMsgs.addAll(res.getGlobalMessages());
-		}
-		ValidationResult validationResCopy = new ValidationResult(fieldMsgs, globalMsgs);
-		return validationResCopy;
+		return ValidationResult.merge(validationResults);
 	}
 	
 	/**
@@ -63,15 +57,22 @@ final class Clones {
 	 * @param nestedMappings
 	 * @param outerClass
 	 * @param outerConfig
+	 * @param attachableElements newly created (filled) elements that are not shared and can be attached 
+	 * to the parent in place, without copying the whole subtree of the element
 	 * @return
 	 */
-	static <T> Map<String, FormMapping<?>> mappingsWithParent(FormMapping<?> parent, Map<String, FormMapping<?>> nestedMappings, Class<T> outerClass, Config outerConfig) {
+	static <T> Map<String, FormMapping<?>> mappingsWithParent(FormMapping<?> parent, Map<String, FormMapping<?>> nestedMappings, Class<T> outerClass, Config outerConfig, Set<FormElement<?>> attachableElements) {
 		Map<String, FormMapping<?>> newNestedMappings = new LinkedHashMap<String, FormMapping<?>>();
 		for (Map.Entry<String, FormMapping<?>> e : nestedMappings.entrySet()) {
 			final String propertyName = e.getKey();
 			final FormMapping<?> nestedMapping = e.getValue();
-			// put copy of nested form mapping that is newly attached to the parent mapping
-			newNestedMappings.put(propertyName, nestedMapping.withParent(parent));
+			if (isAttachable(nestedMapping, attachableElements)) {
+				((AbstractFormElement<?>)nestedMapping).attachToParent(parent);
+				newNestedMappings.put(propertyName, nestedMapping);
+			} else {
+				// put copy of nested form mapping that is newly attached to the parent mapping
+				newNestedMappings.put(propertyName, nestedMapping.withParent(parent));
+			}
 		}
 		return Collections.unmodifiableMap(newNestedMappings);
 	}
@@ -82,20 +83,31 @@ final class Clones {
 	 * @param parent
 	 * @param srcFields
 	 * @param cfg
-	 * @param dataClass
+	 * @param attachableElements newly created (filled) fields that are not shared and can be attached 
+	 * to the parent in place, without copying
 	 * @return
 	 */
-	static <T> Map<String, FormField<?>> fieldsWithParent(FormMapping<?> parent, Map<String, FormField<?>> srcFields) {
+	static <T> Map<String, FormField<?>> fieldsWithParent(FormMapping<?> parent, Map<String, FormField<?>> srcFields, Set<FormElement<?>> attachableElements) {
 		Map<String, FormField<?>> fields = new LinkedHashMap<String, FormField<?>>();
 		if (srcFields != null) {
 			for (Map.Entry<String, FormField<?>> e : srcFields.entrySet()) {
-				FormField<?> f = fieldWithParent(parent, e.getValue());
+				FormField<?> f = null;
+				if (isAttachable(e.getValue(), attachableElements)) {
+					((AbstractFormElement<?>)e.getValue()).attachToParent(parent);
+					f = e.getValue();
+				} else {
+					f = fieldWithParent(parent, e.getValue());
+				}
 				fields.put(e.getKey(), f);
 			}
 		}
 		return Collections.unmodifiableMap(fields);
 	}
 	
+	private static boolean isAttachable(FormElement<?> element, Set<FormElement<?>> attachableElements) {
+		return attachableElements != null && element instanceof AbstractFormElement && attachableElements.contains(element);
+	}
+	
 	private static <T, U> FormField<U> fieldWithParent(FormMapping<?> parent, FormField<U> field) {
 		return new FormFieldImpl<U>(field, parent);
 	}
@@ -17,7 +17,10 @@
 package net.formio;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import jakarta.validation.Validation;
 import jakarta.validation.ValidatorFactory;
@@ -53,7 +56,6 @@ public class Config {
 	 * Separator of parts in the path (used in fully qualified field name).
 	 */
 	public static final String DEFAULT_PATH_SEP = "-";
-	public static final ValidatorFactory DEFAULT_VALIDATOR_FACTORY = Validation.buildDefaultValidatorFactory();
 	
 	private final Location location;
 	private final String messageBundleName;
@@ -74,6 +76,8 @@ public class Config {
 	private final Instantiator defaultInstantiator;
 	private final CollectionSpec<?> listMappingCollection;
 	private final String pathSeparator;
+	private final Executor validationExecutor;
+	private final Executor listValidationExecutor;
 	
 	Config(Builder builder) {
 		this.location = builder.location;
@@ -95,6 +99,8 @@ public class Config {
 		this.defaultInstantiator = builder.defaultInstantiator;
 		this.listMappingCollection = builder.listMappingCollection;
 		this.pathSeparator = builder.pathSeparator;
+		this.validationExecutor = builder.validationExecutor;
+		this.listValidationExecutor = builder.listValidationExecutor;
 	}
 	
 	public static class Builder {
@@ -121,6 +127,8 @@ public class Config {
 		Instantiator defaultInstantiator = new ConstructorInstantiator();
 		CollectionSpec<?> listMappingCollection = CollectionSpec.getInstance(List.class, ItemsOrder.LINEAR);
 		String pathSeparator = DEFAULT_PATH_SEP;
+		Executor validationExecutor;
+		Executor listValidationExecutor;
 
 		Builder() {
 			// package-default access so only Forms (and classes in current package) can create the builder
@@ -265,18 +273,49 @@ public class Config {
 			return this;
 		}
 		
+		/**
+		 * Executor used to run validators of form elements concurrently. 
+		 * If not specified, validators are run sequentially in the calling thread.
+		 * @param executor executor for validators
+		 * @return this builder for chaining calls
+		 */
+		public Builder validationExecutor(Executor executor) {
+			this.validationExecutor = executor;
+			return this;
+		}
+		
+		/**
+		 * Executor used to validate rows of {@link MappingType#LIST} mappings in parallel
+		 * (for e.g. {@link java.util.concurrent.ForkJoinPool} or virtual-thread-per-task executor). 
+		 * Results of rows are always merged in the order of rows, so they are the same as in sequential mode.
+		 * If not specified, rows are processed sequentially in the calling thread.
+		 * Rows are always bound in the calling thread, request parameters and request context 
+		 * (that are not thread-safe) are not accessed by the executor; only validation of the bound 
+		 * objects runs in the executor, so the bean validator and custom validators must be thread-safe.
+		 * Rows of nested list mappings are processed sequentially within the row task of their outer 
+		 * list, so a bounded executor is not blocked by its own subtasks. The executor should not be 
+		 * the same bounded executor as {@link #validationExecutor(Executor)}, because row tasks wait 
+		 * for validators running on the validation executor.
+		 * @param executor executor for rows of list mappings
+		 * @return this builder for chaining calls
+		 */
+		public Builder listValidationExecutor(Executor executor) {
+			this.listValidationExecutor = executor;
+			return this;
+		}
+		
 		public Config build() {
 			// final long startTime = System.nanoTime();
 			if (this.location == null) this.location = DEFAULT_LOCATION;
 			if (this.messageBundleName == null) this.messageBundleName = DEFAULT_MESSAGE_BUNDLE_NAME;
-			if (this.formatters == null) this.formatters = DEFAULT_FORMATTERS;
-			if (this.collectionBuilders == null) this.collectionBuilders = DEFAULT_COLLECTION_BUILDERS;
+			if (this.formatters == null) this.formatters = DefaultFormattersHolder.INSTANCE;
+			if (this.collectionBuilders == null) this.collectionBuilders = DefaultCollectionBuildersHolder.INSTANCE;
 			if (this.argumentNameResolver == null) this.argumentNameResolver = DEFAULT_ARGUMENT_NAME_RESOLVER;
 			if (this.accessorRegex == null) this.accessorRegex = DefaultBeanExtractor.DEFAULT_ACCESSOR_REGEX;
 			if (this.setterRegex == null) this.setterRegex = DefaultBinder.DEFAULT_SETTER_REGEX;
 			if (this.beanExtractor == null) this.beanExtractor = defaultBeanExtractor(this.accessorRegex);
 			if (this.binder == null) this.binder = new DefaultBinder(this.formatters, this.collectionBuilders, this.argumentNameResolver, this.setterRegex);
-			if (this.beanValidator == null) this.beanValidator = new DefaultBeanValidator(DEFAULT_VALIDATOR_FACTORY, this.beanExtractor, this.messageBundleName);
+			if (this.beanValidator == null) this.beanValidator = DefaultBeanValidator.withLazyValidatorFactory(DEFAULT_VALIDATOR_FACTORY_SUPPLIER, this.beanExtractor, this.messageBundleName);
 			if (this.tokenAuthorizer == null) this.tokenAuthorizer = DEFAULT_TOKEN_AUTHORIZER;
 			if (this.pathSeparator == null) this.pathSeparator = DEFAULT_PATH_SEP;
 			
@@ -417,14 +456,81 @@ public class Config {
 	public String getPathSeparator() {
 		return pathSeparator;
 	}
+	
+	/**
+	 * Executor used to run validators of form elements concurrently,
+	 * or null if validators should be run sequentially in the calling thread.
+	 * @return
+	 */
+	public Executor getValidationExecutor() {
+		return validationExecutor;
+	}
+	
+	/**
+	 * Executor used to validate rows of {@link MappingType#LIST} mappings in parallel,
+	 * or null if rows should be processed sequentially in the calling thread.
+	 * @return
+	 */
+	public Executor getListValidationExecutor() {
+		return listValidationExecutor;
+	}
 
-	private static final Formatters DEFAULT_FORMATTERS = new BasicFormatters();
+	/**
+	 * Returns default validator factory. The factory (that bootstraps bean validation provider) is created 
+	 * when it is needed for the first time, so applications that use custom {@link BeanValidator} 
+	 * or only render forms do not pay its initialization.
+	 * @return default validator factory
+	 */
+	public static ValidatorFactory getDefaultValidatorFactory() {
+		return DefaultValidatorFactoryHolder.INSTANCE;
+	}
+	
+	/**
+	 * Initializes default validator factory, formatters and collection builders in the background
+	 * using given executor, so the first validated request does not wait for the bootstrap 
+	 * of bean validation.
+	 * @param executor executor that performs the initialization
+	 * @return future completed when default collaborators are initialized
+	 */
+	public static CompletableFuture<Void> warmUpDefaults(Executor executor) {
+		if (executor == null) throw new IllegalArgumentException("executor cannot be null");
+		return CompletableFuture.runAsync(new Runnable() {
+			@Override
+			public void run() {
+				getDefaultValidatorFactory().getValidator();
+				Forms.config().build();
+			}
+		}, executor);
+	}
+	
 	private static final Location DEFAULT_LOCATION = Location.DEFAULT;
 	private static final String DEFAULT_MESSAGE_BUNDLE_NAME = "ValidationMessages";
-	private static final CollectionBuilders DEFAULT_COLLECTION_BUILDERS = new BasicCollectionBuilders();
+	private static final Supplier<ValidatorFactory> DEFAULT_VALIDATOR_FACTORY_SUPPLIER = new Supplier<ValidatorFactory>() {
+		@Override
+		public ValidatorFactory get() {
+			return getDefaultValidatorFactory();
+		}
+	};
 	private static final ArgumentNameResolver DEFAULT_ARGUMENT_NAME_RESOLVER = new AnnotationArgumentNameResolver();
 	private static final TokenAuthorizer DEFAULT_TOKEN_AUTHORIZER = new HashTokenAuthorizer();
 	private static BeanExtractor defaultBeanExtractor(PropertyMethodRegex accessorRegex) {
 		return new DefaultBeanExtractor(accessorRegex);
 	}
+	
+	// Holders of default collaborators that are initialized by the class loader on first access (thread-safe).
+	// Default formatters and collection builders are created by the first built configuration 
+	// (binder and checks of the configuration need them), only the validator factory is deferred 
+	// until the first validation with default bean validator.
+	
+	private static final class DefaultValidatorFactoryHolder {
+		static final ValidatorFactory INSTANCE = Validation.buildDefaultValidatorFactory();
+	}
+	
+	private static final class DefaultFormattersHolder {
+		static final Formatters INSTANCE = new BasicFormatters();
+	}
+	
+	private static final class DefaultCollectionBuildersHolder {
+		static final CollectionBuilders INSTANCE = new BasicCollectionBuilders();
+	}
 }
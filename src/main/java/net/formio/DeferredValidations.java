@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import net.formio.binding.ParseError;
+import net.formio.upload.RequestProcessingError;
+import net.formio.validation.ValidationResult;
+
+/**
+ * Validations of objects bound by form mappings that are postponed after binding 
+ * of all rows of a list mapping. Request parameters and request context are read only 
+ * by the thread that binds the rows; only the validations can be then run in parallel.
+ * Validations are recorded in the order in which their results would be merged 
+ * if they were run immediately, so the merged results are the same.
+ * <p>Recording is not thread-safe, recorded validations can be run concurrently 
+ * after the recording is finished.</p>
+ * @author Radek Beran
+ */
+final class DeferredValidations {
+	
+	private static final ThreadLocal<DeferredValidations> CURRENT = new ThreadLocal<DeferredValidations>();
+	
+	private final List<Validation<?>> validations = new ArrayList<Validation<?>>();
+	
+	/**
+	 * Returns validations recorded by current thread, or {@code null} if the validations 
+	 * are not deferred.
+	 * @return
+	 */
+	static DeferredValidations current() {
+		return CURRENT.get();
+	}
+	
+	/**
+	 * Starts recording of validations in current thread.
+	 * @return
+	 */
+	static DeferredValidations start() {
+		DeferredValidations validations = new DeferredValidations();
+		CURRENT.set(validations);
+		return validations;
+	}
+	
+	/**
+	 * Finishes recording of validations in current thread.
+	 */
+	void finish() {
+		CURRENT.remove();
+	}
+	
+	/**
+	 * Reserves position for validation of mapping whose nested mappings are bound 
+	 * (and their validations recorded) before the mapping itself.
+	 * @return position of the validation
+	 */
+	int reserve() {
+		validations.add(null);
+		return validations.size() - 1;
+	}
+	
+	<T> void record(int position, BasicFormMapping<T> mapping, T object, RequestProcessingError error, List<ParseError> parseErrors, Locale locale, Class<?> ... validationGroups) {
+		validations.set(position, new Validation<T>(mapping, object, error, parseErrors, locale, validationGroups));
+	}
+	
+	/**
+	 * Returns count of recorded validations.
+	 * @return
+	 */
+	int size() {
+		return validations.size();
+	}
+	
+	/**
+	 * Runs recorded validations from given position (inclusive) to given position (exclusive) 
+	 * and returns their merged result.
+	 * @param from
+	 * @param to
+	 * @return
+	 */
+	ValidationResult validate(int from, int to) {
+		List<ValidationResult> results = new ArrayList<ValidationResult>(to - from);
+		for (int i = from; i < to; i++) {
+			results.add(validations.get(i).validate());
+		}
+		return Clones.mergedValidationResults(results);
+	}
+	
+	private static final class Validation<T> {
+		private final BasicFormMapping<T> mapping;
+		private final T object;
+		private final RequestProcessingError error;
+		private final List<ParseError> parseErrors;
+		private final Locale locale;
+		private final Class<?>[] validationGroups;
+		
+		Validation(BasicFormMapping<T> mapping, T object, RequestProcessingError error, List<ParseError> parseErrors, Locale locale, Class<?>[] validationGroups) {
+			this.mapping = mapping;
+			this.object = object;
+			this.error = error;
+			this.parseErrors = parseErrors;
+			this.locale = locale;
+			this.validationGroups = validationGroups;
+		}
+		
+		ValidationResult validate() {
+			return mapping.validateInternal(object, error, parseErrors, locale, validationGroups);
+		}
+	}
+}
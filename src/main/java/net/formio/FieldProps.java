@@ -58,6 +58,8 @@ public class FieldProps<T> implements Serializable {
 	private FormFieldProperties formProperties = new FormFieldPropertiesImpl(FormElementProperty.createDefaultProperties());
 	List<T> filledObjects = new ArrayList<T>();
 	String strValue;
+	/** Value that is formatted when the string value is requested for the first time (used instead of strValue if not null). */
+	transient LazyFieldValue<T> lazyValue;
 	String labelKey;
 	int order;
 	List<Validator<T>> validators;
@@ -96,16 +98,15 @@ public class FieldProps<T> implements Serializable {
 		Location loc, 
 		Formatters formatters, 
 		String preferedStringValue) {
-		String strValue = null;
-		if (preferedStringValue != null) {
-			strValue = preferedStringValue; 
-		} else if (values.size() > 0) {
-			strValue = valueAsString(values.get(0), field.getPattern(), field.getFormatter(), loc, formatters);
-		}
 		// "this" cannot be used before this initialization of fields:
-		initFromField(field).value(strValue).filledObjects(values);
-		if (field.getChoiceRenderer() instanceof DefaultChoiceRenderer) {
-			choiceRenderer(new DefaultChoiceRenderer<T>(loc.getLocale()));
+		initFromField(field).value(preferedStringValue).filledObjects(values);
+		if (preferedStringValue == null && values.size() > 0 && values.get(0) != null) {
+			// value is formatted only if it is really used (rendered)
+			this.lazyValue = new LazyFieldValue<T>(values.get(0), field.getPattern(), field.getFormatter(), loc, formatters);
+		}
+		if (field.getChoiceRenderer() instanceof DefaultChoiceRenderer 
+			&& !loc.getLocale().equals(((DefaultChoiceRenderer<T>)field.getChoiceRenderer()).getLocale())) {
+			choiceRenderer(DefaultChoiceRenderer.<T>getInstance(loc.getLocale()));
 		}
 	}
 	
@@ -307,6 +308,7 @@ public class FieldProps<T> implements Serializable {
 	// only for internal usage
 	FieldProps<T> value(String value) {
 		this.strValue = value;
+		this.lazyValue = null;
 		return this;
 	}
 	
@@ -433,19 +435,6 @@ public class FieldProps<T> implements Serializable {
 		return new FormFieldImpl<T>(this, order);
 	}
 	
-	private static <T> String valueAsString(T value, String pattern, Formatter<T> formatter, Location loc, Formatters formatters) {
-		if (value == null) return null;
-		String str = null;
-		if (formatter != null) {
-			// formatter is specified explicitly by user
-			str = formatter.makeString(value, pattern, loc);
-		} else {
-			// choose a suitable formatter from available formatters
-			str = formatters.makeString(value, pattern, loc);
-		}
-		return str;
-	}
-	
 	private FieldProps<T> initFromField(FormField<T> field) {
 		this.propertyName = field.getPropertyName();
 		this.parent = field.getParent();
@@ -457,7 +446,15 @@ public class FieldProps<T> implements Serializable {
 		this.choiceRenderer = field.getChoiceRenderer();
 		this.formProperties = field.getProperties();
 		this.filledObjects = field.getFilledObjects();
-		this.strValue = field.getValue();
+		if (field instanceof FormFieldImpl) {
+			// not yet formatted value is not forced to be formatted when copying the field
+			FormFieldImpl<T> fieldImpl = (FormFieldImpl<T>)field;
+			this.strValue = fieldImpl.strValue;
+			this.lazyValue = fieldImpl.lazyValue;
+		} else {
+			this.strValue = field.getValue();
+			this.lazyValue = null;
+		}
 		this.order = field.getOrder();
 		this.validators = new ArrayList<Validator<T>>(field.getValidators());
 		return this;
@@ -0,0 +1,344 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.formio.binding.Instantiator;
+
+/**
+ * Registry of automatically built form definitions. Definitions of form mappings are immutable,
+ * so the definition built for the same data class, property name, instantiator and configuration
+ * can be shared by all requests (and by all parent mappings that use it as an automatic nested mapping). 
+ * Each definition is built only once; later lookups return the memoized definition. 
+ * <p>Memory: configurations are compared by identity, so the definitions should be requested 
+ * with configurations shared by the application (or with default configuration); each new 
+ * configuration (or instantiator) creates a new definition. Keys of the registry reference data classes, 
+ * instantiators and configurations only weakly, but memoized definitions themselves hold their data class 
+ * and configuration. Count of memoized definitions is therefore bounded 
+ * (see {@link #DEFAULT_MAX_DEFINITIONS}): when the bound is reached, single definitions are evicted 
+ * and they are built again on the next lookup. Definitions of 
+ * classes from an undeployed class loader are held at most until they are evicted or until 
+ * {@link #clear()} is called.</p>
+ * Thread-safe.
+ * @author Radek Beran
+ */
+public final class FormDefinitionRegistry {
+	
+	/** Default maximum count of memoized definitions. */
+	public static final int DEFAULT_MAX_DEFINITIONS = 1024;
+	
+	private static final FormDefinitionRegistry INSTANCE = new FormDefinitionRegistry();
+	
+	private final int maxDefinitions;
+	private final ConcurrentMap<DefinitionKey, BasicFormMapping<?>> definitions = new ConcurrentHashMap<DefinitionKey, BasicFormMapping<?>>();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong builds = new AtomicLong();
+	private final AtomicLong buildNanos = new AtomicLong();
+	
+	/**
+	 * Returns registry shared by the whole application.
+	 * @return
+	 */
+	public static FormDefinitionRegistry getInstance() {
+		return INSTANCE;
+	}
+	
+	/**
+	 * Creates new (empty) registry with default maximum count of memoized definitions.
+	 */
+	public FormDefinitionRegistry() {
+		// public constructor allows separate registries with independent lifecycle
+		this(DEFAULT_MAX_DEFINITIONS);
+	}
+	
+	/**
+	 * Creates new (empty) registry.
+	 * @param maxDefinitions maximum count of memoized definitions
+	 */
+	public FormDefinitionRegistry(int maxDefinitions) {
+		if (maxDefinitions < 1) {
+			throw new IllegalArgumentException("maxDefinitions must be positive");
+		}
+		this.maxDefinitions = maxDefinitions;
+	}
+	
+	/**
+	 * Returns definition of mapping automatically specified by introspection of given data class, 
+	 * built with default configuration for the data class.
+	 * @param dataClass
+	 * @param propertyName
+	 * @return
+	 */
+	public <T> FormMapping<T> automatic(Class<T> dataClass, String propertyName) {
+		return automatic(dataClass, propertyName, null, MappingType.SINGLE, null);
+	}
+	
+	/**
+	 * Returns definition of mapping automatically specified by introspection of given data class.
+	 * @param dataClass
+	 * @param propertyName
+	 * @param config configuration of mapping, or null if default configuration for the data class should be used
+	 * @return
+	 */
+	public <T> FormMapping<T> automatic(Class<T> dataClass, String propertyName, Config config) {
+		return automatic(dataClass, propertyName, null, MappingType.SINGLE, config);
+	}
+	
+	/**
+	 * Returns definition of mapping automatically specified by introspection of given data class.
+	 * @param dataClass
+	 * @param propertyName
+	 * @param instantiator instantiator of data class, or null if default instantiator from configuration should be used
+	 * @param mappingType
+	 * @param config configuration of mapping, or null if default configuration for the data class should be used
+	 * @return
+	 */
+	public <T> FormMapping<T> automatic(Class<T> dataClass, String propertyName, Instantiator instantiator, MappingType mappingType, Config config) {
+		return definition(dataClass, propertyName, instantiator, mappingType, false, config);
+	}
+	
+	/**
+	 * Like corresponding automatic mapping, including CSRF protection.
+	 * @param dataClass
+	 * @param propertyName
+	 * @return
+	 */
+	public <T> FormMapping<T> automaticSecured(Class<T> dataClass, String propertyName) {
+		return automaticSecured(dataClass, propertyName, null, MappingType.SINGLE, null);
+	}
+	
+	/**
+	 * Like corresponding automatic mapping, including CSRF protection.
+	 * @param dataClass
+	 * @param propertyName
+	 * @param instantiator
+	 * @param mappingType
+	 * @param config
+	 * @return
+	 */
+	public <T> FormMapping<T> automaticSecured(Class<T> dataClass, String propertyName, Instantiator instantiator, MappingType mappingType, Config config) {
+		return definition(dataClass, propertyName, instantiator, mappingType, true, config);
+	}
+	
+	/**
+	 * Builds definition of automatic mapping in advance (typically at the startup of application), 
+	 * so the first request does not pay the cost of introspection.
+	 * @param dataClass
+	 * @param propertyName
+	 * @return this registry
+	 */
+	public FormDefinitionRegistry warmUp(Class<?> dataClass, String propertyName) {
+		automatic(dataClass, propertyName);
+		return this;
+	}
+	
+	/**
+	 * Builds definition of automatic mapping with given configuration in advance.
+	 * @param dataClass
+	 * @param propertyName
+	 * @param config
+	 * @return this registry
+	 */
+	public FormDefinitionRegistry warmUp(Class<?> dataClass, String propertyName, Config config) {
+		automatic(dataClass, propertyName, config);
+		return this;
+	}
+	
+	/**
+	 * Returns statistics of building the definitions.
+	 * @return
+	 */
+	public Stats getStats() {
+		return new Stats(definitions.size(), hits.get(), builds.get(), buildNanos.get());
+	}
+	
+	/**
+	 * Removes all memoized definitions and resets the statistics 
+	 * (for e.g. after redeployment of data classes).
+	 */
+	public void clear() {
+		definitions.clear();
+		hits.set(0);
+		builds.set(0);
+		buildNanos.set(0);
+	}
+	
+	<T> BasicFormMapping<T> definition(Class<T> dataClass, String propertyName, Instantiator instantiator, MappingType mappingType, boolean secured, Config config) {
+		if (dataClass == null) throw new IllegalArgumentException("dataClass must be filled");
+		if (propertyName == null || propertyName.isEmpty()) throw new IllegalArgumentException("propertyName must be filled");
+		if (mappingType == null) throw new IllegalArgumentException("mappingType must be filled");
+		final DefinitionKey key = new DefinitionKey(dataClass, propertyName, instantiator, mappingType, secured, config);
+		BasicFormMapping<T> mapping = (BasicFormMapping<T>)definitions.get(key);
+		if (mapping != null) {
+			hits.incrementAndGet();
+			return mapping;
+		}
+		// Definition can be built concurrently by more threads, the first one built is kept
+		final long startTime = System.nanoTime();
+		BasicFormMappingBuilder<T> builder = new BasicFormMappingBuilder<T>(dataClass, propertyName, instantiator, true, mappingType)
+			.secured(secured);
+		builder.registry = this;
+		BasicFormMapping<T> built = builder.build(config);
+		buildNanos.addAndGet(System.nanoTime() - startTime);
+		builds.incrementAndGet();
+		evictIfFull();
+		mapping = (BasicFormMapping<T>)definitions.putIfAbsent(key, built);
+		return mapping != null ? mapping : built;
+	}
+	
+	private void evictIfFull() {
+		if (definitions.size() < maxDefinitions) {
+			return;
+		}
+		Iterator<DefinitionKey> it = definitions.keySet().iterator();
+		while (definitions.size() >= maxDefinitions && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+	
+	/**
+	 * Statistics of building the definitions. Immutable.
+	 */
+	public static final class Stats {
+		private final int definitionCount;
+		private final long hitCount;
+		private final long buildCount;
+		private final long buildNanos;
+		
+		Stats(int definitionCount, long hitCount, long buildCount, long buildNanos) {
+			this.definitionCount = definitionCount;
+			this.hitCount = hitCount;
+			this.buildCount = buildCount;
+			this.buildNanos = buildNanos;
+		}
+		
+		/**
+		 * Returns count of memoized definitions.
+		 * @return
+		 */
+		public int getDefinitionCount() {
+			return definitionCount;
+		}
+		
+		/**
+		 * Returns count of lookups that returned already memoized definition.
+		 * @return
+		 */
+		public long getHitCount() {
+			return hitCount;
+		}
+		
+		/**
+		 * Returns count of built definitions (including nested definitions).
+		 * @return
+		 */
+		public long getBuildCount() {
+			return buildCount;
+		}
+		
+		/**
+		 * Returns total time spent by building the definitions, in nanoseconds. 
+		 * Time of building nested definitions is included also in the time of their parents.
+		 * @return
+		 */
+		public long getBuildNanos() {
+			return buildNanos;
+		}
+		
+		@Override
+		public String toString() {
+			return "definitions=" + definitionCount + ", hits=" + hitCount + ", builds=" + buildCount + ", buildNanos=" + buildNanos;
+		}
+	}
+	
+	/**
+	 * Key of memoized definition. Instantiators are compared using their equals, 
+	 * configurations and data classes by identity. Data class, instantiator and configuration 
+	 * are referenced weakly; key with collected referent is not equal to any other key.
+	 */
+	private static final class DefinitionKey {
+		private final WeakReference<Class<?>> dataClass;
+		private final String propertyName;
+		private final WeakReference<Instantiator> instantiator;
+		private final MappingType mappingType;
+		private final boolean secured;
+		private final WeakReference<Config> config;
+		private final int hash;
+		
+		DefinitionKey(Class<?> dataClass, String propertyName, Instantiator instantiator, MappingType mappingType, boolean secured, Config config) {
+			this.dataClass = new WeakReference<Class<?>>(dataClass);
+			this.propertyName = propertyName;
+			this.instantiator = instantiator != null ? new WeakReference<Instantiator>(instantiator) : null;
+			this.mappingType = mappingType;
+			this.secured = secured;
+			this.config = config != null ? new WeakReference<Config>(config) : null;
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + dataClass.hashCode();
+			result = prime * result + propertyName.hashCode();
+			result = prime * result + ((instantiator == null) ? 0 : instantiator.hashCode());
+			result = prime * result + mappingType.hashCode();
+			result = prime * result + (secured ? 1231 : 1237);
+			result = prime * result + ((config == null) ? 0 : System.identityHashCode(config));
+			this.hash = result;
+		}
+		
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof DefinitionKey))
+				return false;
+			DefinitionKey other = (DefinitionKey) obj;
+			if (hash != other.hash)
+				return false;
+			if (!propertyName.equals(other.propertyName))
+				return false;
+			if (mappingType != other.mappingType)
+				return false;
+			if (secured != other.secured)
+				return false;
+			Class<?> cls = dataClass.get();
+			if (cls == null || cls != other.dataClass.get())
+				return false;
+			if (instantiator == null || other.instantiator == null) {
+				if (instantiator != other.instantiator)
+					return false;
+			} else {
+				Instantiator inst = instantiator.get();
+				if (inst == null || !inst.equals(other.instantiator.get()))
+					return false;
+			}
+			if (config == null || other.config == null) {
+				return config == other.config;
+			}
+			Config cfg = config.get();
+			return cfg != null && cfg == other.config.get();
+		}
+	}
+}
@@ -22,7 +22,6 @@ import java.util.List;
 import net.formio.choice.ChoiceProvider;
 import net.formio.choice.ChoiceRenderer;
 import net.formio.format.Formatter;
-import net.formio.internal.FormUtils;
 import net.formio.props.FormFieldProperties;
 import net.formio.props.FormFieldPropertiesImpl;
 import net.formio.validation.ValidationResult;
@@ -42,7 +41,9 @@ public class FormFieldImpl<T> extends AbstractFormElement<T> implements FormFiel
 	private final Formatter<T> formatter;
 	private final ChoiceProvider<T> choiceProvider;
 	private final ChoiceRenderer<T> choiceRenderer;
-	private final String strValue;
+	final String strValue;
+	/** Lazily formatted value (used instead of strValue if not null). */
+	final LazyFieldValue<T> lazyValue;
 	private final String labelKey;
 	private final FormFieldProperties properties;
 	private final int order;
@@ -82,6 +83,7 @@ public class FormFieldImpl<T> extends AbstractFormElement<T> implements FormFiel
 		this.properties = new FormFieldPropertiesImpl(fieldProps.getFormProperties());
 		this.filledObjects = new ArrayList<T>(fieldProps.filledObjects);
 		this.strValue = fieldProps.strValue;
+		this.lazyValue = fieldProps.lazyValue;
 		this.labelKey = fieldProps.labelKey;
 		this.order = order;
 	}
@@ -97,7 +99,10 @@ public class FormFieldImpl<T> extends AbstractFormElement<T> implements FormFiel
 
 	@Override
 	public String getName() {
-		String name = null;
+		String name = this.memoizedName;
+		if (name != null) {
+			return name;
+		}
 		if (getParent() != null) {
 			name = getParent().getName() + getConfig().getPathSeparator() + propertyName;
 		} else {
@@ -106,6 +111,7 @@ public class FormFieldImpl<T> extends AbstractFormElement<T> implements FormFiel
 		if (name == null || name.isEmpty()) {
 			throw new IllegalStateException("Name must be filled");
 		}
+		this.memoizedName = name;
 		return name;
 	}
 	
@@ -135,7 +141,7 @@ public class FormFieldImpl<T> extends AbstractFormElement<T> implements FormFiel
 	public String getLabelKey() {
 		String key = labelKey;
 		if (key == null) {
-			key = FormUtils.labelKeyForName(getName());
+			key = getDefaultLabelKey();
 		}
 		return key;
 	}
@@ -165,6 +171,9 @@ public class FormFieldImpl<T> extends AbstractFormElement<T> implements FormFiel
 
 	@Override
 	public String getValue() {
+		if (lazyValue != null) {
+			return lazyValue.get();
+		}
 		return strValue;
 	}
 	
@@ -16,6 +16,9 @@
  */
 package net.formio;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import net.formio.ajax.action.AjaxAction;
 import net.formio.binding.Instantiator;
 import net.formio.binding.StaticFactoryMethod;
@@ -235,6 +238,27 @@ public final class Forms {
 		return factoryMethod(constructedClass, methodName, constructedClass);
 	}
 	
+	/**
+	 * Returns application-wide registry of memoized automatic form definitions.
+	 * @return
+	 */
+	public static FormDefinitionRegistry definitions() {
+		return FormDefinitionRegistry.getInstance();
+	}
+	
+	/**
+	 * Pre-resolves reflection metadata, formatters, bean validation metadata, message bundles
+	 * and rendering of given form definitions in parallel using given executor, so the first requests 
+	 * after the start of application do not pay for the lazy initialization. 
+	 * Returned report can be used to create class list for application class-data sharing.
+	 * @param executor executor used to warm up the definitions
+	 * @param definitions form definitions
+	 * @return future completed when all the definitions are warmed up
+	 */
+	public static CompletableFuture<WarmUpReport> warmUp(Executor executor, FormMapping<?> ... definitions) {
+		return FormsWarmUp.warmUp(executor, definitions);
+	}
+	
 	/**
 	 * Creates configuration for form processing.
 	 * @return
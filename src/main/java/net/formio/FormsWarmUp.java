@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import net.formio.binding.Instantiator;
+import net.formio.common.BundleMessageTranslator;
+import net.formio.common.MessageTranslator;
+import net.formio.render.FormRenderer;
+import net.formio.validation.BeanValidator;
+import net.formio.validation.DefaultBeanValidator;
+
+/**
+ * Pre-resolves lazily initialized data of form definitions - reflection metadata of data classes, 
+ * formatters of properties, bean validation metadata, message bundles, memoized names of elements 
+ * and rendering of forms, so the first requests do not pay for it.
+ * @author Radek Beran
+ */
+final class FormsWarmUp {
+	
+	private final Set<String> classNames = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger elementCount = new AtomicInteger();
+	
+	static CompletableFuture<WarmUpReport> warmUp(final Executor executor, FormMapping<?> ... definitions) {
+		if (executor == null) throw new IllegalArgumentException("executor cannot be null");
+		if (definitions == null) throw new IllegalArgumentException("definitions cannot be null");
+		final long startTime = System.nanoTime();
+		final FormsWarmUp warmUp = new FormsWarmUp();
+		final List<CompletableFuture<Void>> futures = new ArrayList<CompletableFuture<Void>>();
+		for (final FormMapping<?> definition : definitions) {
+			if (definition == null) throw new IllegalArgumentException("definition cannot be null");
+			// mappings are resolved in parallel, rendering of root definition uses the memoized data
+			List<CompletableFuture<Void>> mappingFutures = new ArrayList<CompletableFuture<Void>>();
+			warmUp.submitMappings(definition, executor, mappingFutures);
+			futures.add(CompletableFuture.allOf(mappingFutures.toArray(new CompletableFuture<?>[0]))
+				.thenRunAsync(new Runnable() {
+					@Override
+					public void run() {
+						warmUp.render(definition);
+					}
+				}, executor));
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(new Function<Void, WarmUpReport>() {
+			@Override
+			public WarmUpReport apply(Void v) {
+				return new WarmUpReport(warmUp.classNames, warmUp.elementCount.get(), System.nanoTime() - startTime);
+			}
+		});
+	}
+	
+	private void submitMappings(final FormMapping<?> mapping, Executor executor, List<CompletableFuture<Void>> futures) {
+		futures.add(CompletableFuture.supplyAsync(new Supplier<Void>() {
+			@Override
+			public Void get() {
+				warmUpMapping(mapping);
+				return null;
+			}
+		}, executor));
+		for (FormMapping<?> nested : mapping.getNested().values()) {
+			submitMappings(nested, executor, futures);
+		}
+	}
+	
+	void warmUpMapping(FormMapping<?> mapping) {
+		final Config config = mapping.getConfig();
+		final Class<?> dataClass = mapping.getDataClass();
+		addClass(dataClass);
+		addClass(mapping.getClass());
+		warmUpElement(mapping);
+		
+		// reflection metadata used by binder and bean extractor
+		final Method[] methods = dataClass.getMethods();
+		Instantiator instantiator = mapping.getInstantiator();
+		if (instantiator == null) {
+			instantiator = config.getDefaultInstantiator();
+		}
+		addClass(instantiator.getClass());
+		instantiator.getDescription(dataClass, config.getArgumentNameResolver());
+		addClass(config.getBinder().getClass());
+		addClass(config.getBeanExtractor().getClass());
+		addClass(config.getFormatters().getClass());
+		
+		// bean validation metadata
+		final BeanValidator beanValidator = config.getBeanValidator();
+		addClass(beanValidator.getClass());
+		if (beanValidator instanceof DefaultBeanValidator) {
+			((DefaultBeanValidator)beanValidator).warmUp(dataClass);
+		}
+		
+		// formatters of properties
+		for (FormField<?> field : mapping.getFields().values()) {
+			warmUpElement(field);
+			addClass(field.getClass());
+			String propertyName = field.getPropertyName();
+			for (Method method : methods) {
+				if (config.getAccessorRegex().matchesPropertyMethod(method.getName(), propertyName) 
+					&& method.getParameterTypes().length == 0) {
+					Class<?> propertyType = method.getReturnType();
+					addClass(propertyType);
+					config.getFormatters().canHandle(propertyType);
+					break;
+				}
+			}
+		}
+		
+		// message bundles, the bundles of data classes are loaded through the same shared 
+		// translator that is used when rendering the fields (it memoizes the texts of labels)
+		final Locale locale = config.getLocation().getLocale();
+		loadBundle(config.getMessageBundleName(), locale);
+		final MessageTranslator tr = BundleMessageTranslator.getInstance(dataClass, locale, mapping.getRoot().getDataClass());
+		for (FormField<?> field : mapping.getFields().values()) {
+			tr.getMessage(field.getLabelKey());
+		}
+	}
+	
+	void render(FormMapping<?> definition) {
+		final FormRenderer renderer = new FormRenderer(definition.getConfig().getLocation());
+		addClass(renderer.getClass());
+		renderer.renderElement(definition);
+	}
+	
+	private void warmUpElement(FormElement<?> element) {
+		elementCount.incrementAndGet();
+		// names, identifiers and label keys are memoized by the elements
+		element.getName();
+		element.getElementId();
+		element.getElementPlaceholderId();
+		element.getLabelKey();
+	}
+	
+	private void addClass(Class<?> cls) {
+		if (cls != null && !cls.isPrimitive()) {
+			Class<?> c = cls;
+			while (c.isArray()) {
+				c = c.getComponentType();
+			}
+			if (!c.isPrimitive()) {
+				classNames.add(c.getName());
+			}
+		}
+	}
+	
+	private static void loadBundle(String bundleName, Locale locale) {
+		try {
+			ResourceBundle.getBundle(bundleName, locale);
+		} catch (MissingResourceException ex) {
+			// bundle is optional
+		}
+	}
+	
+	private FormsWarmUp() {
+	}
+}
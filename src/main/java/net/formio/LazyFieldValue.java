@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio;
+
+import net.formio.format.Formatter;
+import net.formio.format.Formatters;
+import net.formio.format.Location;
+
+/**
+ * String value of filled form field that is formatted on the first access
+ * and then remembered, so the fields that are never rendered are not formatted at all.
+ * @author Radek Beran
+ */
+final class LazyFieldValue<T> {
+	private final T value;
+	private final String pattern;
+	private final Formatter<T> formatter;
+	private final Location location;
+	private final Formatters formatters;
+	private String strValue;
+	/** Written after strValue, so strValue is visible to other threads that read formatted flag set to true. */
+	private volatile boolean formatted;
+	
+	LazyFieldValue(T value, String pattern, Formatter<T> formatter, Location location, Formatters formatters) {
+		if (location == null) throw new IllegalArgumentException("location cannot be null");
+		if (formatters == null) throw new IllegalArgumentException("formatters cannot be null");
+		this.value = value;
+		this.pattern = pattern;
+		this.formatter = formatter;
+		this.location = location;
+		this.formatters = formatters;
+	}
+	
+	String get() {
+		if (!formatted) {
+			// concurrent formatting produces the same string, so no locking is needed
+			strValue = valueAsString();
+			formatted = true;
+		}
+		return strValue;
+	}
+	
+	private String valueAsString() {
+		if (value == null) return null;
+		String str = null;
+		if (formatter != null) {
+			// formatter is specified explicitly by user
+			str = formatter.makeString(value, pattern, location);
+		} else {
+			// choose a suitable formatter from available formatters
+			str = formatters.makeString(value, pattern, location);
+		}
+		return str;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result of warm-up of form definitions (see {@link Forms#warmUp(java.util.concurrent.Executor, FormMapping...)}). 
+ * Immutable.
+ * @author Radek Beran
+ */
+public final class WarmUpReport {
+	private final Set<String> classNames;
+	private final int elementCount;
+	private final long elapsedNanos;
+	
+	WarmUpReport(Set<String> classNames, int elementCount, long elapsedNanos) {
+		this.classNames = Collections.unmodifiableSet(new TreeSet<String>(classNames));
+		this.elementCount = elementCount;
+		this.elapsedNanos = elapsedNanos;
+	}
+	
+	/**
+	 * Returns sorted binary names of classes that were resolved during the warm-up 
+	 * (data classes, property types and collaborators used by binder, validator and renderer).
+	 * @return
+	 */
+	public Set<String> getClassNames() {
+		return classNames;
+	}
+	
+	/**
+	 * Returns count of warmed up form elements (mappings and fields).
+	 * @return
+	 */
+	public int getElementCount() {
+		return elementCount;
+	}
+	
+	/**
+	 * Returns duration of the warm-up in milliseconds.
+	 * @return
+	 */
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+	}
+	
+	/**
+	 * Writes resolved classes in the format of class list used for creating 
+	 * application class-data sharing archive ({@code -XX:SharedClassListFile}), one class per line.
+	 * Classes of JDK are omitted since they are contained in the default archive.
+	 * @param out
+	 * @throws IOException
+	 */
+	public void writeClassList(Appendable out) throws IOException {
+		if (out == null) throw new IllegalArgumentException("out cannot be null");
+		for (String className : classNames) {
+			if (!className.startsWith("java.") && !className.startsWith("javax.") && !className.startsWith("jdk.") && !className.startsWith("sun.")) {
+				out.append(className.replace('.', '/')).append('\n');
+			}
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return "elements=" + elementCount + ", classes=" + classNames.size() + ", elapsedMillis=" + getElapsedMillis();
+	}
+}
@@ -84,4 +84,15 @@ public class ConstructorInstantiator extends AbstractInstantiator {
 		}
 		return desc;
 	}
+	
+	@Override
+	public int hashCode() {
+		return getClass().hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		// stateless, all instances are equal
+		return obj != null && getClass() == obj.getClass();
+	}
 }
@@ -89,4 +89,22 @@ public class StaticFactoryMethod extends AbstractInstantiator {
 		return desc;
 	}
 	
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + factoryClass.hashCode();
+		result = prime * result + methodName.hashCode();
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		StaticFactoryMethod other = (StaticFactoryMethod) obj;
+		return factoryClass.equals(other.factoryClass) && methodName.equals(other.methodName);
+	}
 }
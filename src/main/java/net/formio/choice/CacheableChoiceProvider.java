@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.choice;
+
+/**
+ * Provider of choice items that allows caching of the rendered items. 
+ * Items returned by the provider must not change (their count, order, ids and titles)
+ * as long as the version of the provider stays the same.
+ * @param <T> type of one item from codebook
+ * 
+ * @author Radek Beran
+ */
+public interface CacheableChoiceProvider<T> extends ChoiceProvider<T> {
+	
+	/**
+	 * Returns version of provided items. The version must be changed whenever 
+	 * the items are changed. Provider of immutable items can return constant.
+	 * @return
+	 */
+	long getVersion();
+}
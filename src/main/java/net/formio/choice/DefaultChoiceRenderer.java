@@ -17,6 +17,8 @@
 package net.formio.choice;
 
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import net.formio.common.BundleMessageTranslator;
 
@@ -28,12 +30,34 @@ import net.formio.common.BundleMessageTranslator;
  */
 public class DefaultChoiceRenderer<T> implements ChoiceRenderer<T> {
 
+	private static final ConcurrentMap<Locale, DefaultChoiceRenderer<?>> INSTANCES = new ConcurrentHashMap<Locale, DefaultChoiceRenderer<?>>();
+	
 	private final Locale locale;
 	
 	public DefaultChoiceRenderer(Locale locale) {
 		this.locale = locale;
 	}
 	
+	/**
+	 * Returns shared renderer for given locale (renderer is immutable).
+	 * @param locale
+	 * @return
+	 */
+	public static <T> DefaultChoiceRenderer<T> getInstance(Locale locale) {
+		if (locale == null) {
+			return new DefaultChoiceRenderer<T>(locale);
+		}
+		DefaultChoiceRenderer<?> renderer = INSTANCES.get(locale);
+		if (renderer == null) {
+			renderer = new DefaultChoiceRenderer<T>(locale);
+			DefaultChoiceRenderer<?> existing = INSTANCES.putIfAbsent(locale, renderer);
+			if (existing != null) {
+				renderer = existing;
+			}
+		}
+		return (DefaultChoiceRenderer<T>)renderer;
+	}
+	
 	public Locale getLocale() {
 		return locale;
 	}
@@ -66,7 +90,9 @@ public class DefaultChoiceRenderer<T> implements ChoiceRenderer<T> {
 			title = ((Titled)item).getTitle();
 		} else if (item != null && item.getClass().isEnum()) {
 			Enum<?> e = (Enum<?>)item;
-			BundleMessageTranslator tr = new BundleMessageTranslator(item.getClass(), this.locale);
+			BundleMessageTranslator tr = this.locale != null ? 
+				BundleMessageTranslator.getInstance(item.getClass(), this.locale) : 
+				new BundleMessageTranslator(item.getClass(), this.locale);
 			title = tr.getMessage(e.name());
 		} else if (item != null) {
 			title = "" + item.toString();
@@ -22,11 +22,12 @@ import java.util.List;
 
 /**
  * Default {@link ChoiceProvider} for enums that returns all values of enum type.
+ * Values of enum type never change, so rendered items can be cached.
  * @author Radek Beran
  *
  * @param <E>
  */
-public class EnumChoiceProvider<E extends Enum<E>> implements ChoiceProvider<E> {
+public class EnumChoiceProvider<E extends Enum<E>> implements CacheableChoiceProvider<E> {
 
 	private final Class<E> enumClass;
 	
@@ -43,4 +44,9 @@ public class EnumChoiceProvider<E extends Enum<E>> implements ChoiceProvider<E>
 		return enums != null ? Arrays.asList(enums) : new ArrayList<E>();
 	}
 	
+	@Override
+	public long getVersion() {
+		return 0L;
+	}
+	
 }
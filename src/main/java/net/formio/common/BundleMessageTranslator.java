@@ -19,6 +19,8 @@ package net.formio.common;
 import java.util.Locale;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p>Retrieves translations from {@link ResourceBundle}s.</p>
@@ -29,9 +31,15 @@ import java.util.ResourceBundle;
  */
 public class BundleMessageTranslator implements MessageTranslator {
 	
+	private static final ConcurrentMap<TranslatorKey, BundleMessageTranslator> INSTANCES = new ConcurrentHashMap<TranslatorKey, BundleMessageTranslator>();
+	/** Memoized result for message keys that are not found in the bundles. */
+	private static final String MISSING_TEXT = new String("???");
+	
 	private final String bundleName;
 	private final String fallbackBundleName;
 	private final Locale locale;
+	/** Memoized texts of shared instances (without arguments substituted); null for other instances. */
+	private final ConcurrentMap<TextKey, String> texts;
 	
 	/**
 	 * Creates new message translator.
@@ -40,11 +48,16 @@ public class BundleMessageTranslator implements MessageTranslator {
 	 * @param fallbackBundleName
 	 */
 	public BundleMessageTranslator(String bundleName, Locale locale, String fallbackBundleName) {
+		this(bundleName, locale, fallbackBundleName, false);
+	}
+	
+	private BundleMessageTranslator(String bundleName, Locale locale, String fallbackBundleName, boolean memoized) {
 		if (bundleName == null) throw new IllegalArgumentException("bundleName cannot be null");
 		if (locale == null) throw new IllegalArgumentException("locale cannot be null");
 		this.locale = locale;
 		this.bundleName = bundleName;
 		this.fallbackBundleName = fallbackBundleName;
+		this.texts = memoized ? new ConcurrentHashMap<TextKey, String>() : null;
 		try { 
 			ResourceBundle.getBundle(bundleName, locale);
 		} catch (MissingResourceException ex) {
@@ -105,6 +118,57 @@ public class BundleMessageTranslator implements MessageTranslator {
 		this(classToBundleName(cls));
 	}
 	
+	/**
+	 * Returns shared translator for given bundles and locale. The shared translator 
+	 * remembers found texts and also message keys that are missing in the bundles, 
+	 * so repeated translations do not search the resource bundles again.
+	 * @param bundleName
+	 * @param locale
+	 * @param fallbackBundleName
+	 * @return
+	 */
+	public static BundleMessageTranslator getInstance(String bundleName, Locale locale, String fallbackBundleName) {
+		TranslatorKey key = new TranslatorKey(bundleName, locale, fallbackBundleName);
+		BundleMessageTranslator tr = INSTANCES.get(key);
+		if (tr == null) {
+			tr = new BundleMessageTranslator(bundleName, locale, fallbackBundleName, true);
+			BundleMessageTranslator existing = INSTANCES.putIfAbsent(key, tr);
+			if (existing != null) {
+				tr = existing;
+			}
+		}
+		return tr;
+	}
+	
+	/**
+	 * Returns shared translator for given classes and locale, see {@link #getInstance(String, Locale, String)}.
+	 * @param cls class for which the resource bundle is searched
+	 * @param locale
+	 * @param cls2 fallback class for which the resource bundle is searched if not found for first class
+	 * @return
+	 */
+	public static BundleMessageTranslator getInstance(Class<?> cls, Locale locale, Class<?> cls2) {
+		return getInstance(classToBundleName(cls), locale, classToBundleName(cls2));
+	}
+	
+	/**
+	 * Returns shared translator for given class and locale, see {@link #getInstance(String, Locale, String)}.
+	 * @param cls class for which the resource bundle is searched
+	 * @param locale
+	 * @return
+	 */
+	public static BundleMessageTranslator getInstance(Class<?> cls, Locale locale) {
+		return getInstance(classToBundleName(cls), locale, (String)null);
+	}
+	
+	/**
+	 * Forgets shared translators and their memoized texts (for e.g. after reloading 
+	 * of resource bundles using {@link ResourceBundle#clearCache()}).
+	 */
+	public static void clearInstances() {
+		INSTANCES.clear();
+	}
+	
 	/**
 	 * Returns translation of the message for given message key, locale and arguments.
 	 * @param msgKey
@@ -116,19 +180,10 @@ public class BundleMessageTranslator implements MessageTranslator {
 	public String getMessage(String msgKey, Locale locale, Object ... args) {
 		if (msgKey == null) throw new IllegalArgumentException("msgKey cannot be null");
 		String text = null;
-		try {
-			try {
-				text = getStrFromBundle(this.bundleName, msgKey, locale);
-			} catch (MissingResourceException ex) {
-				// message was not found in resource bundle, ignored
-				text = null;
-			}
-			if ((text == null || text.equals(createMissingMessage(msgKey))) && this.fallbackBundleName != null) {
-				text = getStrFromBundle(this.fallbackBundleName, msgKey, locale);
-			}
-		} catch (MissingResourceException ex) {
-			// message was not found in resource bundle, ignored
-			text = null;
+		if (texts != null) {
+			text = getMemoizedText(msgKey, locale);
+		} else {
+			text = findText(msgKey, locale);
 		}
 		if (text == null) {
 			text = createMissingMessage(msgKey);
@@ -159,6 +214,44 @@ public class BundleMessageTranslator implements MessageTranslator {
 		return cls.getName();
 	}
 	
+	private String getMemoizedText(String msgKey, Locale locale) {
+		TextKey key = new TextKey(msgKey, locale);
+		String text = texts.get(key);
+		if (text == null) {
+			text = findText(msgKey, locale);
+			texts.putIfAbsent(key, text != null ? text : MISSING_TEXT);
+		} else if (text == MISSING_TEXT) {
+			text = null;
+		}
+		return text;
+	}
+	
+	/**
+	 * Returns text for given message key from the bundle or from the fallback bundle;
+	 * or {@code null} if the text is not found.
+	 */
+	private String findText(String msgKey, Locale locale) {
+		String text = null;
+		try {
+			try {
+				text = getStrFromBundle(this.bundleName, msgKey, locale);
+			} catch (MissingResourceException ex) {
+				// message was not found in resource bundle, ignored
+				text = null;
+			}
+			if ((text == null || text.equals(createMissingMessage(msgKey))) && this.fallbackBundleName != null) {
+				text = getStrFromBundle(this.fallbackBundleName, msgKey, locale);
+			}
+		} catch (MissingResourceException ex) {
+			// message was not found in resource bundle, ignored
+			text = null;
+		}
+		if (text != null && text.equals(createMissingMessage(msgKey))) {
+			text = null;
+		}
+		return text;
+	}
+	
 	private String createMissingMessage(String msgKey) {
 		return "???" + msgKey + "???";
 	}
@@ -168,4 +261,65 @@ public class BundleMessageTranslator implements MessageTranslator {
 		ResourceBundle bundle = ResourceBundle.getBundle(baseName, locale);
 		return bundle.getString(msgKey);
 	}
-}
\ No newline at end of file
+	
+	private static final class TranslatorKey {
+		private final String bundleName;
+		private final Locale locale;
+		private final String fallbackBundleName;
+		
+		TranslatorKey(String bundleName, Locale locale, String fallbackBundleName) {
+			this.bundleName = bundleName;
+			this.locale = locale;
+			this.fallbackBundleName = fallbackBundleName;
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + ((bundleName == null) ? 0 : bundleName.hashCode());
+			result = prime * result + ((fallbackBundleName == null) ? 0 : fallbackBundleName.hashCode());
+			result = prime * result + ((locale == null) ? 0 : locale.hashCode());
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof TranslatorKey))
+				return false;
+			TranslatorKey other = (TranslatorKey) obj;
+			return eq(bundleName, other.bundleName) && eq(locale, other.locale) && eq(fallbackBundleName, other.fallbackBundleName);
+		}
+	}
+	
+	private static final class TextKey {
+		private final String msgKey;
+		private final Locale locale;
+		
+		TextKey(String msgKey, Locale locale) {
+			this.msgKey = msgKey;
+			this.locale = locale;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * msgKey.hashCode() + ((locale == null) ? 0 : locale.hashCode());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof TextKey))
+				return false;
+			TextKey other = (TextKey) obj;
+			return msgKey.equals(other.msgKey) && eq(locale, other.locale);
+		}
+	}
+	
+	private static boolean eq(Object a, Object b) {
+		return a == null ? b == null : a.equals(b);
+	}
+}
@@ -0,0 +1,581 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.formio.FormData;
+import net.formio.common.heterog.DefaultTypedKey;
+import net.formio.common.heterog.HeterogCollections;
+import net.formio.common.heterog.HeterogMap;
+import net.formio.common.heterog.TypedKey;
+import net.formio.validation.ConstraintViolationMessage;
+import net.formio.validation.Severity;
+import net.formio.validation.ValidationResult;
+
+/**
+ * Compact versioned binary format of {@link FormData}, {@link ValidationResult} and {@link HeterogMap} 
+ * (for e.g. form properties) for storing in session and replication of sessions between nodes. 
+ * Repeated strings (field names, message keys, names of classes) are written only once per encoded value, 
+ * integers are written in variable length. Values of common types (strings, numbers, booleans, dates, enums) 
+ * are written directly, other {@link Serializable} values using Java serialization, deserialization of them 
+ * is checked by {@link ObjectInputFilter} (see {@link #defaultSerialFilter()}).
+ * @author Radek Beran
+ */
+public final class BinaryCodec {
+	
+	/** Version of binary format written by this codec. */
+	public static final int VERSION = 2;
+	
+	private static final int MAGIC = 0xF1;
+	private static final int KIND_FORM_DATA = 1;
+	private static final int KIND_VALIDATION_RESULT = 2;
+	private static final int KIND_HETEROG_MAP = 3;
+	
+	private static final int TAG_NULL = 0;
+	private static final int TAG_STRING = 1;
+	private static final int TAG_TRUE = 2;
+	private static final int TAG_FALSE = 3;
+	private static final int TAG_INT = 4;
+	private static final int TAG_LONG = 5;
+	private static final int TAG_DOUBLE = 6;
+	private static final int TAG_BIG_DECIMAL = 7;
+	private static final int TAG_BIG_INTEGER = 8;
+	private static final int TAG_DATE = 9;
+	private static final int TAG_ENUM = 10;
+	private static final int TAG_CLASS = 11;
+	private static final int TAG_SERIALIZED = 12;
+	
+	private static final ObjectInputFilter LIMITS_FILTER = ObjectInputFilter.Config.createFilter(
+		"maxdepth=32;maxrefs=100000;maxarray=100000");
+	
+	/**
+	 * Returns codec that stores data objects using Java serialization. 
+	 * Deserialized objects are checked by the default filter (see {@link #defaultSerialFilter()}).
+	 * @return
+	 */
+	public static <T extends Serializable> DataCodec<T> serializingCodec() {
+		return serializingCodec(defaultSerialFilter());
+	}
+	
+	/**
+	 * Returns codec that stores data objects using Java serialization. 
+	 * @param serialFilter filter of classes and graph limits of deserialized objects 
+	 * (typically allowing only the classes of stored data objects)
+	 * @return
+	 */
+	public static <T extends Serializable> DataCodec<T> serializingCodec(final ObjectInputFilter serialFilter) {
+		if (serialFilter == null) throw new IllegalArgumentException("serialFilter cannot be null");
+		return new DataCodec<T>() {
+			@Override
+			public void write(T value, DataOutput out) throws IOException {
+				new Output(out).writeValue(value);
+			}
+
+			@Override
+			public T read(DataInput in) throws IOException {
+				return (T)new Input(in, serialFilter).readValue();
+			}
+		};
+	}
+	
+	/**
+	 * Returns filter used for values stored using Java serialization (values that are not 
+	 * of simple types, for e.g. in arguments of validation messages): filter configured 
+	 * for the whole JVM (jdk.serialFilter), or a filter limiting the size of deserialized 
+	 * object graphs if no JVM-wide filter is configured.
+	 * @return
+	 */
+	public static ObjectInputFilter defaultSerialFilter() {
+		ObjectInputFilter filter = ObjectInputFilter.Config.getSerialFilter();
+		return filter != null ? filter : LIMITS_FILTER;
+	}
+	
+	/**
+	 * Encodes form data with validation result. Data object is written using given codec.
+	 * @param formData
+	 * @param dataCodec
+	 * @return
+	 */
+	public static <T> byte[] encodeFormData(FormData<T> formData, DataCodec<T> dataCodec) {
+		if (formData == null) throw new IllegalArgumentException("formData cannot be null");
+		if (dataCodec == null) throw new IllegalArgumentException("dataCodec cannot be null");
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			Output out = new Output(new DataOutputStream(bos));
+			out.writeHeader(KIND_FORM_DATA);
+			out.writeValidationResult(formData.getValidationResult());
+			dataCodec.write(formData.getData(), out.out);
+			return bos.toByteArray();
+		} catch (IOException ex) {
+			throw new IllegalStateException("form data cannot be encoded: " + ex.getMessage(), ex);
+		}
+	}
+	
+	/**
+	 * Decodes form data encoded by {@link #encodeFormData(FormData, DataCodec)}.
+	 * @param bytes
+	 * @param dataCodec
+	 * @return
+	 */
+	public static <T> FormData<T> decodeFormData(byte[] bytes, DataCodec<T> dataCodec) {
+		if (bytes == null) throw new IllegalArgumentException("bytes cannot be null");
+		if (dataCodec == null) throw new IllegalArgumentException("dataCodec cannot be null");
+		try {
+			Input in = new Input(new DataInputStream(new ByteArrayInputStream(bytes)));
+			in.readHeader(KIND_FORM_DATA);
+			ValidationResult validationResult = in.readValidationResult();
+			T data = dataCodec.read(in.in);
+			return new FormData<T>(data, validationResult);
+		} catch (IOException ex) {
+			throw new IllegalArgumentException("form data cannot be decoded: " + ex.getMessage(), ex);
+		}
+	}
+	
+	public static byte[] encodeValidationResult(ValidationResult validationResult) {
+		if (validationResult == null) throw new IllegalArgumentException("validationResult cannot be null");
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			Output out = new Output(new DataOutputStream(bos));
+			out.writeHeader(KIND_VALIDATION_RESULT);
+			out.writeValidationResult(validationResult);
+			return bos.toByteArray();
+		} catch (IOException ex) {
+			throw new IllegalStateException("validation result cannot be encoded: " + ex.getMessage(), ex);
+		}
+	}
+	
+	public static ValidationResult decodeValidationResult(byte[] bytes) {
+		if (bytes == null) throw new IllegalArgumentException("bytes cannot be null");
+		try {
+			Input in = new Input(new DataInputStream(new ByteArrayInputStream(bytes)));
+			in.readHeader(KIND_VALIDATION_RESULT);
+			return in.readValidationResult();
+		} catch (IOException ex) {
+			throw new IllegalArgumentException("validation result cannot be decoded: " + ex.getMessage(), ex);
+		}
+	}
+	
+	/**
+	 * Encodes heterogeneous map with string keys. Types of keys are preserved by the names of value classes.
+	 * @param map
+	 * @return
+	 */
+	public static byte[] encodeHeterogMap(HeterogMap<String> map) {
+		if (map == null) throw new IllegalArgumentException("map cannot be null");
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			Output out = new Output(new DataOutputStream(bos));
+			out.writeHeader(KIND_HETEROG_MAP);
+			out.writeVarInt(map.size());
+			for (Map.Entry<TypedKey<String, ?>, Object> e : map.entrySet()) {
+				out.writeString(e.getKey().getKey());
+				out.writeString(e.getKey().getValueClass().getName());
+				out.writeValue(e.getValue());
+			}
+			return bos.toByteArray();
+		} catch (IOException ex) {
+			throw new IllegalStateException("map cannot be encoded: " + ex.getMessage(), ex);
+		}
+	}
+	
+	/**
+	 * Decodes heterogeneous map encoded by {@link #encodeHeterogMap(HeterogMap)} into new linked map. 
+	 * @param bytes
+	 * @return
+	 */
+	public static HeterogMap<String> decodeHeterogMap(byte[] bytes) {
+		if (bytes == null) throw new IllegalArgumentException("bytes cannot be null");
+		try {
+			Input in = new Input(new DataInputStream(new ByteArrayInputStream(bytes)));
+			in.readHeader(KIND_HETEROG_MAP);
+			final HeterogMap<String> map = HeterogCollections.<String>newLinkedMap();
+			final int size = in.readVarInt();
+			for (int i = 0; i < size; i++) {
+				String key = in.readString();
+				Class<Object> valueClass = (Class<Object>)classForName(in.readString());
+				map.putTyped(DefaultTypedKey.valueOf(key, valueClass), valueClass.cast(in.readValue()));
+			}
+			return map;
+		} catch (IOException ex) {
+			throw new IllegalArgumentException("map cannot be decoded: " + ex.getMessage(), ex);
+		}
+	}
+	
+	/**
+	 * Stores encoded form data as a string value in given session storage.
+	 * @param storage
+	 * @param key
+	 * @param formData
+	 * @param dataCodec
+	 */
+	public static <T> void storeFormData(SessionStorage storage, String key, FormData<T> formData, DataCodec<T> dataCodec) {
+		if (storage == null) throw new IllegalArgumentException("storage cannot be null");
+		storage.set(key, Base64.getEncoder().encodeToString(encodeFormData(formData, dataCodec)));
+	}
+	
+	/**
+	 * Loads form data stored by {@link #storeFormData(SessionStorage, String, FormData, DataCodec)}.
+	 * @param storage
+	 * @param key
+	 * @param dataCodec
+	 * @return form data or null if there are no form data stored under given key
+	 */
+	public static <T> FormData<T> loadFormData(SessionStorage storage, String key, DataCodec<T> dataCodec) {
+		if (storage == null) throw new IllegalArgumentException("storage cannot be null");
+		String value = storage.get(key);
+		if (value == null) {
+			return null;
+		}
+		return decodeFormData(Base64.getDecoder().decode(value), dataCodec);
+	}
+	
+	static Class<?> classForName(String className) throws IOException {
+		if (className == null) throw new IOException("missing class name");
+		try {
+			ClassLoader cl = Thread.currentThread().getContextClassLoader();
+			if (cl == null) {
+				cl = BinaryCodec.class.getClassLoader();
+			}
+			return Class.forName(className, false, cl);
+		} catch (ClassNotFoundException ex) {
+			throw new IOException("class " + className + " not found", ex);
+		}
+	}
+	
+	/**
+	 * Writes values into binary output, remembers written strings.
+	 */
+	static final class Output {
+		final DataOutput out;
+		private final Map<String, Integer> strings = new HashMap<String, Integer>();
+		
+		Output(DataOutput out) {
+			this.out = out;
+		}
+		
+		void writeHeader(int kind) throws IOException {
+			out.writeByte(MAGIC);
+			out.writeByte(VERSION);
+			out.writeByte(kind);
+		}
+		
+		void writeVarInt(int value) throws IOException {
+			writeVarLong(value & 0xFFFFFFFFL);
+		}
+		
+		void writeVarLong(long value) throws IOException {
+			long v = value;
+			while ((v & ~0x7FL) != 0) {
+				out.writeByte((int)((v & 0x7F) | 0x80));
+				v >>>= 7;
+			}
+			out.writeByte((int)v);
+		}
+		
+		/**
+		 * Writes string: 0 for null, 1 followed by length and UTF-8 bytes for the first occurrence,
+		 * otherwise index of the same string written before increased by 2. 
+		 */
+		void writeString(String str) throws IOException {
+			if (str == null) {
+				writeVarInt(0);
+				return;
+			}
+			Integer index = strings.get(str);
+			if (index != null) {
+				writeVarInt(index.intValue() + 2);
+			} else {
+				strings.put(str, Integer.valueOf(strings.size()));
+				byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+				writeVarInt(1);
+				writeVarInt(bytes.length);
+				out.write(bytes);
+			}
+		}
+		
+		void writeValue(Object value) throws IOException {
+			if (value == null) {
+				out.writeByte(TAG_NULL);
+			} else if (value instanceof String) {
+				out.writeByte(TAG_STRING);
+				writeString((String)value);
+			} else if (value instanceof Boolean) {
+				out.writeByte(((Boolean)value).booleanValue() ? TAG_TRUE : TAG_FALSE);
+			} else if (value instanceof Integer) {
+				out.writeByte(TAG_INT);
+				int v = ((Integer)value).intValue();
+				writeVarInt((v << 1) ^ (v >> 31)); // zig-zag encoding of negative numbers
+			} else if (value instanceof Long) {
+				out.writeByte(TAG_LONG);
+				long v = ((Long)value).longValue();
+				writeVarLong((v << 1) ^ (v >> 63));
+			} else if (value instanceof Double) {
+				out.writeByte(TAG_DOUBLE);
+				out.writeDouble(((Double)value).doubleValue());
+			} else if (value instanceof BigDecimal) {
+				out.writeByte(TAG_BIG_DECIMAL);
+				writeString(value.toString());
+			} else if (value instanceof BigInteger) {
+				out.writeByte(TAG_BIG_INTEGER);
+				writeString(value.toString());
+			} else if (value.getClass() == Date.class) {
+				out.writeByte(TAG_DATE);
+				out.writeLong(((Date)value).getTime());
+			} else if (value instanceof Enum<?>) {
+				out.writeByte(TAG_ENUM);
+				writeString(((Enum<?>)value).getDeclaringClass().getName());
+				writeString(((Enum<?>)value).name());
+			} else if (value instanceof Class<?>) {
+				out.writeByte(TAG_CLASS);
+				writeString(((Class<?>)value).getName());
+			} else if (value instanceof Serializable) {
+				out.writeByte(TAG_SERIALIZED);
+				ByteArrayOutputStream bos = new ByteArrayOutputStream();
+				ObjectOutputStream oos = new ObjectOutputStream(bos);
+				oos.writeObject(value);
+				oos.close();
+				byte[] bytes = bos.toByteArray();
+				writeVarInt(bytes.length);
+				out.write(bytes);
+			} else {
+				throw new IOException("value of " + value.getClass().getName() + " is not serializable");
+			}
+		}
+		
+		void writeValidationResult(ValidationResult result) throws IOException {
+			Map<String, List<ConstraintViolationMessage>> fieldMessages = result.getFieldMessages();
+			writeVarInt(fieldMessages.size());
+			for (Map.Entry<String, List<ConstraintViolationMessage>> e : fieldMessages.entrySet()) {
+				writeString(e.getKey());
+				writeMessages(e.getValue());
+			}
+			writeMessages(result.getGlobalMessages());
+		}
+		
+		private void writeMessages(List<ConstraintViolationMessage> messages) throws IOException {
+			writeVarInt(messages.size());
+			for (ConstraintViolationMessage msg : messages) {
+				writeString(msg.getSeverity().name());
+				writeString(msg.getText());
+				writeString(msg.getMsgKey());
+				writeVarInt(msg.getMsgArgs().size());
+				for (Map.Entry<String, Serializable> arg : msg.getMsgArgs().entrySet()) {
+					writeString(arg.getKey());
+					writeValue(arg.getValue());
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Reads values from binary input.
+	 */
+	static final class Input {
+		final DataInput in;
+		private final ObjectInputFilter serialFilter;
+		private final List<String> strings = new ArrayList<String>();
+		private int version = VERSION;
+		
+		Input(DataInput in) {
+			this(in, defaultSerialFilter());
+		}
+		
+		Input(DataInput in, ObjectInputFilter serialFilter) {
+			this.in = in;
+			this.serialFilter = serialFilter;
+		}
+		
+		void readHeader(int expectedKind) throws IOException {
+			int magic = in.readUnsignedByte();
+			if (magic != MAGIC) throw new IOException("unknown format");
+			this.version = in.readUnsignedByte();
+			if (version > VERSION) throw new IOException("unsupported version " + version);
+			int kind = in.readUnsignedByte();
+			if (kind != expectedKind) throw new IOException("unexpected kind of encoded value " + kind);
+		}
+		
+		int readVarInt() throws IOException {
+			return (int)readVarLong();
+		}
+		
+		long readVarLong() throws IOException {
+			long result = 0;
+			int shift = 0;
+			while (shift < 64) {
+				int b = in.readUnsignedByte();
+				result |= (long)(b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return result;
+				}
+				shift += 7;
+			}
+			throw new IOException("malformed variable length number");
+		}
+		
+		String readString() throws IOException {
+			int ref = readVarInt();
+			if (ref == 0) {
+				return null;
+			}
+			if (ref == 1) {
+				int length = readVarInt();
+				if (length < 0) throw new IOException("invalid string length " + length);
+				byte[] bytes = new byte[length];
+				in.readFully(bytes);
+				String str = new String(bytes, StandardCharsets.UTF_8);
+				strings.add(str);
+				return str;
+			}
+			int index = ref - 2;
+			if (index < 0 || index >= strings.size()) throw new IOException("invalid string reference " + ref);
+			return strings.get(index);
+		}
+		
+		Object readValue() throws IOException {
+			int tag = in.readUnsignedByte();
+			switch (tag) {
+				case TAG_NULL:
+					return null;
+				case TAG_STRING:
+					return readString();
+				case TAG_TRUE:
+					return Boolean.TRUE;
+				case TAG_FALSE:
+					return Boolean.FALSE;
+				case TAG_INT:
+					int i = readVarInt();
+					return Integer.valueOf((i >>> 1) ^ -(i & 1));
+				case TAG_LONG:
+					long l = readVarLong();
+					return Long.valueOf((l >>> 1) ^ -(l & 1));
+				case TAG_DOUBLE:
+					return Double.valueOf(in.readDouble());
+				case TAG_BIG_DECIMAL:
+					return new BigDecimal(readString());
+				case TAG_BIG_INTEGER:
+					return new BigInteger(readString());
+				case TAG_DATE:
+					return new Date(in.readLong());
+				case TAG_ENUM:
+					Class<?> enumClass = classForName(readString());
+					String name = readString();
+					if (!enumClass.isEnum()) throw new IOException(enumClass.getName() + " is not an enum");
+					for (Object constant : enumClass.getEnumConstants()) {
+						if (((Enum<?>)constant).name().equals(name)) {
+							return constant;
+						}
+					}
+					throw new IOException("constant " + name + " not found in " + enumClass.getName());
+				case TAG_CLASS:
+					return classForName(readString());
+				case TAG_SERIALIZED:
+					int length = readVarInt();
+					if (length < 0) throw new IOException("invalid length " + length);
+					byte[] bytes = new byte[length];
+					in.readFully(bytes);
+					ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes));
+					ois.setObjectInputFilter(serialFilter);
+					try {
+						return ois.readObject();
+					} catch (ClassNotFoundException ex) {
+						throw new IOException(ex.getMessage(), ex);
+					} finally {
+						ois.close();
+					}
+				default:
+					throw new IOException("unknown value tag " + tag);
+			}
+		}
+		
+		ValidationResult readValidationResult() throws IOException {
+			int fieldCount = readVarInt();
+			if (fieldCount == 0) {
+				List<ConstraintViolationMessage> globalMessages = readMessages();
+				if (globalMessages.isEmpty()) {
+					return ValidationResult.empty;
+				}
+				return new ValidationResult(new LinkedHashMap<String, List<ConstraintViolationMessage>>(), globalMessages);
+			}
+			Map<String, List<ConstraintViolationMessage>> fieldMessages = new LinkedHashMap<String, List<ConstraintViolationMessage>>();
+			for (int i = 0; i < fieldCount; i++) {
+				String fieldName = readString();
+				fieldMessages.put(fieldName, readMessages());
+			}
+			return new ValidationResult(fieldMessages, readMessages());
+		}
+		
+		private List<ConstraintViolationMessage> readMessages() throws IOException {
+			int count = readVarInt();
+			List<ConstraintViolationMessage> messages = new ArrayList<ConstraintViolationMessage>(count);
+			for (int i = 0; i < count; i++) {
+				Severity severity = readSeverity();
+				String text = readString();
+				String msgKey = readString();
+				int argCount = readVarInt();
+				Map<String, Serializable> args = new LinkedHashMap<String, Serializable>();
+				for (int a = 0; a < argCount; a++) {
+					String argName = readString();
+					args.put(argName, (Serializable)readValue());
+				}
+				messages.add(new ConstraintViolationMessage(severity, text, msgKey, args));
+			}
+			return messages;
+		}
+		
+		private Severity readSeverity() throws IOException {
+			if (version < 2) {
+				// version 1 stored ordinal of severity
+				int ordinal = in.readUnsignedByte();
+				Severity[] severities = Severity.values();
+				if (ordinal >= severities.length) throw new IOException("unknown severity " + ordinal);
+				return severities[ordinal];
+			}
+			String name = readString();
+			for (Severity severity : Severity.values()) {
+				if (severity.name().equals(name)) {
+					return severity;
+				}
+			}
+			throw new IOException("unknown severity " + name);
+		}
+	}
+	
+	private BinaryCodec() {
+		throw new AssertionError("Not instantiable, use static members");
+	}
+}
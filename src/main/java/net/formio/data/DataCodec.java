@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.data;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes and reads values of given type in binary form.
+ * Used by {@link BinaryCodec} for the data objects carried by {@link net.formio.FormData}.
+ * @author Radek Beran
+ *
+ * @param <T> type of value
+ */
+public interface DataCodec<T> {
+	
+	/**
+	 * Writes given value (can be null) to the output.
+	 * @param value
+	 * @param out
+	 * @throws IOException
+	 */
+	void write(T value, DataOutput out) throws IOException;
+	
+	/**
+	 * Reads value written by {@link #write(Object, DataOutput)} from the input.
+	 * @param in
+	 * @return
+	 * @throws IOException
+	 */
+	T read(DataInput in) throws IOException;
+}
@@ -94,7 +94,26 @@ public class FormUtils {
 	 */
 	public static String labelKeyForName(String path) {
 		if (path == null) return null;
-		return path.replaceAll("\\[[0-9]*\\]", "");
+		if (path.indexOf('[') < 0) return path;
+		// removes all index brackets like [0] or [] (without using regular expression)
+		StringBuilder sb = new StringBuilder(path.length());
+		int i = 0;
+		while (i < path.length()) {
+			char c = path.charAt(i);
+			if (c == '[') {
+				int j = i + 1;
+				while (j < path.length() && path.charAt(j) >= '0' && path.charAt(j) <= '9') {
+					j++;
+				}
+				if (j < path.length() && path.charAt(j) == ']') {
+					i = j + 1;
+					continue;
+				}
+			}
+			sb.append(c);
+			i++;
+		}
+		return sb.toString();
 	}
 	
 	/**
@@ -213,6 +232,32 @@ public class FormUtils {
 		return foundEl;
 	}
 	
+	/**
+	 * This method is NOT intended as a part of public API and should not be used outside the library!
+	 * Puts given element and all its nested elements (including elements for individual indexes of list mappings)
+	 * to given index of elements by their names. The first element found for given name is kept 
+	 * (in the same order as in {@link #findElementRecursive(Class, String, FormElement)}).
+	 * @param startElem
+	 * @param elementsByName
+	 */
+	public static void indexElementsRecursive(FormElement<?> startElem, Map<String, FormElement<?>> elementsByName) {
+		if (!elementsByName.containsKey(startElem.getName())) {
+			elementsByName.put(startElem.getName(), startElem);
+		}
+		if (startElem instanceof FormMapping<?>) {
+			FormMapping<?> fm = (FormMapping<?>)startElem;
+			if (fm.getList() != null && !fm.getList().isEmpty()) {
+				for (FormElement<?> element : fm.getList()) {
+					indexElementsRecursive(element, elementsByName);
+				}
+			} else {
+				for (FormElement<?> element : fm.getElements()) {
+					indexElementsRecursive(element, elementsByName);
+				}
+			}
+		}
+	}
+	
 	/**
 	 * This method is NOT intended as a part of public API and should not be used outside the library!
 	 * Opens given URL in default browser of operating system.
@@ -16,6 +16,7 @@
  */
 package net.formio.props;
 
+import java.io.ObjectStreamException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -34,11 +35,14 @@ import net.formio.props.types.InlinePosition;
 public class FormElementProperty<T> extends AbstractTypedKey<String, T> implements Property<T> {
 	private static final long serialVersionUID = 4271239940342562765L;
 	protected static List<FormElementProperty<Object>> props;
+	/** Properties with assigned ordinal, which are stored in arrays of {@link FormPropertiesImpl} instead of a map. */
+	private static volatile FormElementProperty<?>[] indexedProps;
 	
 	private static final AjaxHandler<?>[] EMPTY_AJAX_HANDLERS = new AjaxHandler<?>[0];
 	
 	static {
 		props = new ArrayList<FormElementProperty<Object>>();
+		indexedProps = new FormElementProperty<?>[0];
 	}
 	
 	/** Whether the form element should be visible - rendered at all. */
@@ -84,41 +88,65 @@ public class FormElementProperty<T> extends AbstractTypedKey<String, T> implemen
 	
 	// Render hints for which there are no convenience accessors or setters in builders
 	/** HTML multiple attribute. */
-	public static final FormElementProperty<Boolean> MULTIPLE = new FormElementProperty<Boolean>("multiple", Boolean.class, Boolean.FALSE);
+	public static final FormElementProperty<Boolean> MULTIPLE = indexed(new FormElementProperty<Boolean>("multiple", Boolean.class, Boolean.FALSE));
 	
 	/** HTML size attribute. */
-	public static final FormElementProperty<Integer> SIZE = new FormElementProperty<Integer>("size", Integer.class, null);
+	public static final FormElementProperty<Integer> SIZE = indexed(new FormElementProperty<Integer>("size", Integer.class, null));
 	
 	/** HTML cols attribute for textareas. */
-	public static final FormElementProperty<Integer> COLS = new FormElementProperty<Integer>("cols", Integer.class, null);
+	public static final FormElementProperty<Integer> COLS = indexed(new FormElementProperty<Integer>("cols", Integer.class, null));
 	
 	/** HTML rows attribute for textareas. */
-	public static final FormElementProperty<Integer> ROWS = new FormElementProperty<Integer>("rows", Integer.class, null);
+	public static final FormElementProperty<Integer> ROWS = indexed(new FormElementProperty<Integer>("rows", Integer.class, null));
 	
 	/** HTML maxlength attribute for inputs. */
-	public static final FormElementProperty<Integer> MAX_LENGTH = new FormElementProperty<Integer>("maxlength", Integer.class, null);
+	public static final FormElementProperty<Integer> MAX_LENGTH = indexed(new FormElementProperty<Integer>("maxlength", Integer.class, null));
 	
 	/** MIME types accepted by file upload input. */
-	public static final FormElementProperty<String> ACCEPT = new FormElementProperty<String>("accept", String.class, null);
+	public static final FormElementProperty<String> ACCEPT = indexed(new FormElementProperty<String>("accept", String.class, null));
 	
 	/** Type of button: submit, reset or button. */
-	public static final FormElementProperty<ButtonType> BUTTON_TYPE = new FormElementProperty<ButtonType>("buttonType", ButtonType.class, null);
+	public static final FormElementProperty<ButtonType> BUTTON_TYPE = indexed(new FormElementProperty<ButtonType>("buttonType", ButtonType.class, null));
 	
 	/** Render surrounding fieldset HTML element. */
-	public static final FormElementProperty<Boolean> FIELDSET_DISPLAYED = new FormElementProperty<Boolean>("fieldsetDisplayed", Boolean.class, null);
+	public static final FormElementProperty<Boolean> FIELDSET_DISPLAYED = indexed(new FormElementProperty<Boolean>("fieldsetDisplayed", Boolean.class, null));
 	
 	/** Confirmation message that should be confirmed before the form field is activated (e.g. before an AJAX action should be performed).
 	 * Serves for both AJAX and non-AJAX actions. */
-	public static final FormElementProperty<String> CONFIRM_MESSAGE = new FormElementProperty<String>("confirmMessage", String.class, null);
+	public static final FormElementProperty<String> CONFIRM_MESSAGE = indexed(new FormElementProperty<String>("confirmMessage", String.class, null));
 	
-	protected static <T> FormElementProperty<T> register(FormElementProperty<T> prop) {
+	protected static synchronized <T> FormElementProperty<T> register(FormElementProperty<T> prop) {
 		if (props.contains(prop)) {
 			throw new IllegalArgumentException("Property with name '" + prop.getName() + "' is already registered.");
 		}
 		props.add((FormElementProperty<Object>)prop);
+		return indexed(prop);
+	}
+	
+	/**
+	 * Assigns ordinal to given property, so its value is stored in an array of {@link FormPropertiesImpl}.
+	 * @param prop
+	 * @return given property
+	 */
+	private static synchronized <T> FormElementProperty<T> indexed(FormElementProperty<T> prop) {
+		if (prop.ordinal < 0) {
+			FormElementProperty<?>[] indexed = new FormElementProperty<?>[indexedProps.length + 1];
+			System.arraycopy(indexedProps, 0, indexed, 0, indexedProps.length);
+			prop.ordinal = indexedProps.length;
+			indexed[prop.ordinal] = prop;
+			indexedProps = indexed;
+		}
 		return prop;
 	}
 	
+	/**
+	 * Returns properties with assigned ordinals; index in returned array is the ordinal of property.
+	 * @return
+	 */
+	static FormElementProperty<?>[] getIndexedProperties() {
+		return indexedProps;
+	}
+	
 	public static List<FormElementProperty<Object>> getValues() {
 		return Collections.unmodifiableList(props);
 	}
@@ -151,6 +179,11 @@ public class FormElementProperty<T> extends AbstractTypedKey<String, T> implemen
 	}
 	
 	private final T defaultValue;
+	/** 
+	 * Index of value of this property in {@link FormPropertiesImpl}, or -1 if the value is stored only in the map. 
+	 * Ordinals are assigned by registration in the running JVM, so they are not serialized.
+	 */
+	private transient int ordinal = -1;
 	
 	protected FormElementProperty(String name, Class<T> valueClass, T defaultValue) {
 		super(name, valueClass);
@@ -166,4 +199,24 @@ public class FormElementProperty<T> extends AbstractTypedKey<String, T> implemen
 	public T getDefaultValue() {
 		return defaultValue;
 	}
+	
+	int getOrdinal() {
+		return ordinal;
+	}
+	
+	/**
+	 * Resolves deserialized property to the property registered under the same name 
+	 * in this JVM (with the ordinal assigned by this JVM).
+	 * @return
+	 * @throws ObjectStreamException
+	 */
+	protected Object readResolve() throws ObjectStreamException {
+		FormElementProperty<Object> registered = fromName(getName());
+		if (registered != null && registered.getValueClass() == getValueClass()) {
+			return registered;
+		}
+		// not registered property has no ordinal (transient field is not initialized by deserialization)
+		this.ordinal = -1;
+		return this;
+	}
 }
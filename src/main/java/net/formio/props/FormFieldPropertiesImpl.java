@@ -45,8 +45,7 @@ public class FormFieldPropertiesImpl extends FormPropertiesImpl implements FormF
 	
 	@Override
 	public boolean isChooseOptionDisplayed() {
-		Boolean b = getProperty(FormElementProperty.CHOOSE_OPTION_DISPLAYED);
-		return b != null && b.booleanValue();
+		return isFlagSet(FormElementProperty.CHOOSE_OPTION_DISPLAYED);
 	}
 	
 	@Override
@@ -44,7 +44,6 @@ public class FormMappingPropertiesImpl extends FormPropertiesImpl implements For
 	
 	@Override
 	public boolean isFieldsetDisplayed() {
-		Boolean b = getProperty(FormElementProperty.FIELDSET_DISPLAYED);
-		return b != null && b.booleanValue();
+		return isFlagSet(FormElementProperty.FIELDSET_DISPLAYED);
 	}
 }
@@ -16,6 +16,8 @@
  */
 package net.formio.props;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Map;
 
@@ -33,11 +35,19 @@ public class FormPropertiesImpl implements FormProperties, Serializable {
 	private static final long serialVersionUID = 8353865315646591562L;
 	
 	private final HeterogMap<String> properties;
+	// Ordinals of properties are not stable between JVMs, so indexed values are recomputed after deserialization
+	/** Values of properties with ordinals (see {@link FormElementProperty#getIndexedProperties()}) indexed by the ordinal. */
+	private transient Object[] indexedValues;
+	/** Bit set of boolean properties with ordinals that are true. */
+	private transient long flags;
 	
 	/** For internal use only. */
 	public FormPropertiesImpl(final HeterogMap<String> properties) {
 		if (properties == null) throw new IllegalArgumentException("formProperties cannot be null, only empty");
-		this.properties = HeterogCollections.unmodifiableMap(properties);
+		// copy protects the indexed values from later modifications of given map
+		this.properties = HeterogCollections.unmodifiableMap(copyProperties(properties, (FormElementProperty<Object>)null, null));
+		this.indexedValues = indexValues(this.properties);
+		this.flags = flags(this.indexedValues);
 	}
 	
 	FormPropertiesImpl(final FormProperties src) {
@@ -45,22 +55,45 @@ public class FormPropertiesImpl implements FormProperties, Serializable {
 	}
 	
 	<T> FormPropertiesImpl(final FormProperties src, FormElementProperty<T> property, T value) {
-		this(copyProperties(src.getHeterogMap(), property, value));
+		if (src == null) throw new IllegalArgumentException("source properties cannot be null");
+		if (src instanceof FormPropertiesImpl) {
+			FormPropertiesImpl srcImpl = (FormPropertiesImpl)src;
+			if (property == null) {
+				// unchanged copy shares the immutable data
+				this.properties = srcImpl.properties;
+				this.indexedValues = srcImpl.indexedValues;
+				this.flags = srcImpl.flags;
+			} else {
+				this.properties = HeterogCollections.unmodifiableMap(copyProperties(srcImpl.properties, property, value));
+				if (property.getOrdinal() >= 0 && property.getOrdinal() < srcImpl.indexedValues.length) {
+					Object[] values = srcImpl.indexedValues.clone();
+					values[property.getOrdinal()] = this.properties.getTyped(property);
+					this.indexedValues = values;
+				} else {
+					this.indexedValues = indexValues(this.properties);
+				}
+				this.flags = flags(this.indexedValues);
+			}
+		} else {
+			this.properties = HeterogCollections.unmodifiableMap(copyProperties(src.getHeterogMap(), property, value));
+			this.indexedValues = indexValues(this.properties);
+			this.flags = flags(this.indexedValues);
+		}
 	}
 	
 	@Override
 	public boolean isVisible() {
-		return this.properties.getTyped(FormElementProperty.VISIBLE).booleanValue();
+		return isFlagSet(FormElementProperty.VISIBLE);
 	}
 	
 	@Override
 	public boolean isEnabled() {
-		return this.properties.getTyped(FormElementProperty.ENABLED).booleanValue();
+		return isFlagSet(FormElementProperty.ENABLED);
 	}
 	
 	@Override
 	public boolean isReadonly() {
-		return this.properties.getTyped(FormElementProperty.READ_ONLY).booleanValue();
+		return isFlagSet(FormElementProperty.READ_ONLY);
 	}
 	
 	@Override
@@ -70,7 +103,7 @@ public class FormPropertiesImpl implements FormProperties, Serializable {
 	
 	@Override
 	public boolean isLabelVisible() {
-		return this.properties.getTyped(FormElementProperty.LABEL_VISIBLE).booleanValue();
+		return isFlagSet(FormElementProperty.LABEL_VISIBLE);
 	}
 	
 	@Override
@@ -106,8 +139,7 @@ public class FormPropertiesImpl implements FormProperties, Serializable {
 	
 	@Override
 	public boolean isDetached() {
-		Boolean b = getProperty(FormElementProperty.DETACHED);
-		return b != null && b.booleanValue();
+		return isFlagSet(FormElementProperty.DETACHED);
 	}
 	
 	@Override
@@ -127,9 +159,28 @@ public class FormPropertiesImpl implements FormProperties, Serializable {
 	
 	@Override
 	public <T> T getProperty(FormElementProperty<T> property) {
+		int ordinal = property.getOrdinal();
+		if (ordinal >= 0 && ordinal < this.indexedValues.length) {
+			// value was already checked for the type when it was put to the map
+			return (T)this.indexedValues[ordinal];
+		}
 		return getHeterogMap().getTyped(property);
 	}
 	
+	/**
+	 * Returns true if given boolean property (with ordinal) is set to true.
+	 * @param property
+	 * @return
+	 */
+	protected boolean isFlagSet(FormElementProperty<Boolean> property) {
+		int ordinal = property.getOrdinal();
+		if (ordinal >= 0 && ordinal < MAX_FLAGS) {
+			return (this.flags & (1L << ordinal)) != 0;
+		}
+		Boolean b = getProperty(property);
+		return b != null && b.booleanValue();
+	}
+	
 	@Override
 	public String toString() {
 		return "FormPropertiesImpl [formProperties=" + properties + "]";
@@ -173,4 +224,32 @@ public class FormPropertiesImpl implements FormProperties, Serializable {
 	public boolean isEmpty() {
 		return properties.isEmpty();
 	}
+	
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		this.indexedValues = indexValues(this.properties);
+		this.flags = flags(this.indexedValues);
+	}
+	
+	private static Object[] indexValues(HeterogMap<String> properties) {
+		FormElementProperty<?>[] indexedProps = FormElementProperty.getIndexedProperties();
+		Object[] values = new Object[indexedProps.length];
+		for (int i = 0; i < indexedProps.length; i++) {
+			values[i] = properties.getTyped(indexedProps[i]);
+		}
+		return values;
+	}
+	
+	private static long flags(Object[] indexedValues) {
+		long flags = 0L;
+		for (int i = 0; i < indexedValues.length && i < MAX_FLAGS; i++) {
+			if (Boolean.TRUE.equals(indexedValues[i])) {
+				flags |= 1L << i;
+			}
+		}
+		return flags;
+	}
+	
+	/** Maximum count of boolean properties (with ordinals) that are stored in a bit set. */
+	private static final int MAX_FLAGS = 64;
 }
@@ -16,8 +16,17 @@
  */
 package net.formio.render;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 import net.formio.BasicListFormMapping;
 import net.formio.Field;
@@ -26,6 +35,8 @@ import net.formio.FormField;
 import net.formio.FormMapping;
 import net.formio.ajax.AjaxParams;
 import net.formio.ajax.action.AjaxHandler;
+import net.formio.choice.CacheableChoiceProvider;
+import net.formio.choice.ChoiceItem;
 import net.formio.choice.ChoiceRenderer;
 import net.formio.common.MessageTranslator;
 import net.formio.format.Location;
@@ -49,6 +60,12 @@ import net.formio.validation.ConstraintViolationMessage;
 public class FormRenderer {
 
 	private final Location location;
+	private final String lineSeparator;
+	private final ParallelRendering parallelRendering;
+	/** String methods of rendering chain that are overridden by the class of this renderer. */
+	private final Set<StringHook> overriddenHooks;
+	/** End of div on separate line, pre-encoded for {@link Utf8Sink}. */
+	private final Utf8Sink.Fragment divEndLine;
 	// Auxiliary renderers
 	private final StyleRenderer styleRenderer;
 	private final MessageRenderer messageRenderer;
@@ -57,9 +74,48 @@ public class FormRenderer {
 	private final AjaxEventRenderer ajaxEventRenderer;
 	
 	public static final Location DEFAULT_LOCATION = Location.ENGLISH;
+	/** Line separator for compact markup without line breaks. */
+	public static final String COMPACT_LINE_SEPARATOR = "";
+	
+	/** Compiled static markup of rendered fields shared by all renderers (keyed also by renderer class). */
+	static final RenderTemplates TEMPLATES = new RenderTemplates();
+	/** True in threads rendering chunks of rows in parallel (nested lists are rendered sequentially). */
+	private static final ThreadLocal<Boolean> RENDERING_CHUNK = new ThreadLocal<Boolean>();
+	/** Up to this count of selected items, the selected items are scanned instead of hashed. */
+	private static final int MAX_SCANNED_SELECTED_ITEMS = 4;
+	private static final String SELECTED_ATTRIBUTE = " selected=\"selected\"";
+	/** String methods of rendering chain overridden by renderer classes. */
+	private static final ClassValue<Set<StringHook>> OVERRIDDEN_HOOKS = new ClassValue<Set<StringHook>>() {
+		@Override
+		protected Set<StringHook> computeValue(Class<?> rendererClass) {
+			Set<StringHook> hooks = EnumSet.noneOf(StringHook.class);
+			for (StringHook hook : StringHook.values()) {
+				if (hook.isOverriddenBy(rendererClass)) {
+					hooks.add(hook);
+				}
+			}
+			return Collections.unmodifiableSet(hooks);
+		}
+	};
 
-	public FormRenderer(Location location) {
+	/**
+	 * Creates renderer.
+	 * @param location location for rendering; or {@code null} if the location should be taken 
+	 * from the configuration of rendered elements
+	 * @param lineSeparator string that ends the lines of rendered markup, 
+	 * {@link #COMPACT_LINE_SEPARATOR} for compact markup
+	 * @param parallelRendering settings of parallel rendering of large list mappings; 
+	 * or {@code null} if the lists should be always rendered sequentially
+	 */
+	public FormRenderer(Location location, String lineSeparator, ParallelRendering parallelRendering) {
+		if (lineSeparator == null) {
+			throw new IllegalArgumentException("lineSeparator cannot be null, only empty");
+		}
 		this.location = location;
+		this.lineSeparator = lineSeparator;
+		this.parallelRendering = parallelRendering;
+		this.overriddenHooks = OVERRIDDEN_HOOKS.get(getClass());
+		this.divEndLine = Utf8Sink.fragment("</div>" + lineSeparator);
 		this.styleRenderer = new StyleRenderer(this);
 		this.messageRenderer = new MessageRenderer(this);
 		this.labelRenderer = new LabelRenderer(this, this.styleRenderer);
@@ -67,6 +123,26 @@ public class FormRenderer {
 		this.ajaxEventRenderer = new AjaxEventRenderer(this);
 	}
 	
+	/**
+	 * Creates renderer that renders list mappings sequentially.
+	 * @param location location for rendering; or {@code null} if the location should be taken 
+	 * from the configuration of rendered elements
+	 * @param lineSeparator string that ends the lines of rendered markup, 
+	 * {@link #COMPACT_LINE_SEPARATOR} for compact markup
+	 */
+	public FormRenderer(Location location, String lineSeparator) {
+		this(location, lineSeparator, null);
+	}
+	
+	/**
+	 * Creates renderer that ends the lines of markup with system line separator.
+	 * @param location location for rendering; or {@code null} if the location should be taken 
+	 * from the configuration of rendered elements
+	 */
+	public FormRenderer(Location location) {
+		this(location, System.lineSeparator());
+	}
+	
 	public FormRenderer() {
 		this(null); // location is null, locale and time zone will be fetched from config of rendered form elements
 	}
@@ -84,14 +160,64 @@ public class FormRenderer {
 	 * @return
 	 */
 	public <T> String renderElement(FormElement<T> element) {
-		String markup = renderMarkupElementPlaceholder(element, renderElementMarkup(element));
+		StringBuilder sb = new StringBuilder();
+		try {
+			if (isOverridden(StringHook.ELEMENT)) {
+				// called by the overriding method, must not dispatch back to it
+				renderElementInternal(element, sb);
+			} else {
+				renderElement(element, sb);
+			}
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex); // cannot happen for StringBuilder
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Renders given form element - form mapping or form field (including its placeholder tag, 
+	 * see {@link #renderElement(FormElement)}) directly to given output 
+	 * (for e.g. {@link java.io.Writer} of HTTP response), without building intermediate strings 
+	 * for nested elements.
+	 * @param element
+	 * @param out
+	 * @throws IOException
+	 */
+	public <T> void renderElement(FormElement<T> element, Appendable out) throws IOException {
+		if (isOverridden(StringHook.ELEMENT)) {
+			out.append(renderElement(element));
+		} else {
+			renderElementInternal(element, out);
+		}
+	}
+	
+	private <T> void renderElementInternal(FormElement<T> element, Appendable out) throws IOException {
+		if (isOverridden(StringHook.ELEMENT_PLACEHOLDER) || isOverridden(StringHook.FORM_GROUP)) {
+			// wrappers of the element are customized by subclass using String methods
+			String markup = renderMarkupElementPlaceholder(element, renderElementMarkup(element));
+			if (element instanceof FormField<?>) {
+				FormField<?> field = (FormField<?>)element;
+				if (!Field.HIDDEN.getType().equals(field.getType())) {
+					markup = renderMarkupFormGroup(field, markup);
+				}
+			}
+			out.append(markup);
+			return;
+		}
+		boolean formGroup = false;
 		if (element instanceof FormField<?>) {
 			FormField<?> field = (FormField<?>)element;
-			if (!Field.HIDDEN.getType().equals(field.getType())) {
-				markup = renderMarkupFormGroup(field, markup);
+			formGroup = !Field.HIDDEN.getType().equals(field.getType());
+			if (formGroup) {
+				renderMarkupFormGroupBegin(field, out);
 			}
 		}
-		return markup;
+		renderMarkupElementPlaceholderBegin(element, out);
+		renderElementMarkup(element, out);
+		renderMarkupElementPlaceholderEnd(element, out);
+		if (formGroup) {
+			renderMarkupFormGroupEnd((FormField<?>)element, out);
+		}
 	}
 
 	/**
@@ -102,11 +228,38 @@ public class FormRenderer {
 	 */
 	public <T> String renderElementMarkup(FormElement<T> element) {
 		StringBuilder sb = new StringBuilder("");
-		if (element.isVisible()) {
-			sb.append(renderVisibleElement(element));
+		try {
+			if (isOverridden(StringHook.ELEMENT_MARKUP)) {
+				renderElementMarkupInternal(element, sb);
+			} else {
+				renderElementMarkup(element, sb);
+			}
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex);
 		}
 		return sb.toString();
 	}
+	
+	/**
+	 * Renders the element itself without the surrounding placeholder tag to given output.
+	 * If the given element is invisible, nothing is rendered.
+	 * @param element
+	 * @param out
+	 * @throws IOException
+	 */
+	public <T> void renderElementMarkup(FormElement<T> element, Appendable out) throws IOException {
+		if (isOverridden(StringHook.ELEMENT_MARKUP)) {
+			out.append(renderElementMarkup(element));
+		} else {
+			renderElementMarkupInternal(element, out);
+		}
+	}
+	
+	private <T> void renderElementMarkupInternal(FormElement<T> element, Appendable out) throws IOException {
+		if (element.isVisible()) {
+			renderVisibleElement(element, out);
+		}
+	}
 		
 	/**
 	 * Renders element in visible state (assuming the element is visible).
@@ -114,15 +267,47 @@ public class FormRenderer {
 	 * @return
 	 */
 	public <T> String renderVisibleElement(FormElement<T> element) {
-		String html = null;
+		if (element == null) {
+			return null;
+		}
+		StringBuilder sb = new StringBuilder();
+		try {
+			if (isOverridden(StringHook.VISIBLE_ELEMENT)) {
+				renderVisibleElementInternal(element, sb);
+			} else {
+				renderVisibleElement(element, sb);
+			}
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex);
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Renders element in visible state (assuming the element is visible) to given output.
+	 * @param element
+	 * @param out
+	 * @throws IOException
+	 */
+	public <T> void renderVisibleElement(FormElement<T> element, Appendable out) throws IOException {
+		if (isOverridden(StringHook.VISIBLE_ELEMENT)) {
+			String html = renderVisibleElement(element);
+			if (html != null) {
+				out.append(html);
+			}
+		} else {
+			renderVisibleElementInternal(element, out);
+		}
+	}
+	
+	private <T> void renderVisibleElementInternal(FormElement<T> element, Appendable out) throws IOException {
 		if (element instanceof FormMapping) {
-			html = renderVisibleMapping((FormMapping<?>)element);
+			renderVisibleMapping((FormMapping<?>)element, out);
 		} else if (element instanceof FormField) {
-			html = renderVisibleField((FormField<?>)element);
+			renderVisibleField((FormField<?>)element, out);
 		} else if (element != null) {
 			throw new UnsupportedOperationException("Unsupported element " + element.getClass().getName());
 		}
-		return html;
 	}
 
 	/**
@@ -132,36 +317,74 @@ public class FormRenderer {
 	 */
 	public <T> String renderVisibleMapping(FormMapping<T> mapping) {
 		StringBuilder sb = new StringBuilder();
-		
+		try {
+			if (isOverridden(StringHook.VISIBLE_MAPPING)) {
+				renderVisibleMappingInternal(mapping, sb);
+			} else {
+				renderVisibleMapping(mapping, sb);
+			}
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex);
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Renders form mapping in visible state (assuming the mapping is visible) to given output.
+	 * @param mapping
+	 * @param out
+	 * @throws IOException
+	 */
+	public <T> void renderVisibleMapping(FormMapping<T> mapping, Appendable out) throws IOException {
+		if (isOverridden(StringHook.VISIBLE_MAPPING)) {
+			out.append(renderVisibleMapping(mapping));
+		} else {
+			renderVisibleMappingInternal(mapping, out);
+		}
+	}
+	
+	private <T> void renderVisibleMappingInternal(FormMapping<T> mapping, Appendable out) throws IOException {
+		out.append(newLine());
+		if (isOverridden(StringHook.MAPPING_BOX)) {
+			// mapping box is customized by subclass using String method
+			StringBuilder sb = new StringBuilder();
+			renderMappingContent(mapping, sb);
+			out.append(renderMarkupMappingBox(mapping, sb.toString()));
+		} else {
+			renderMarkupMappingBoxBegin(mapping, out);
+			renderMappingContent(mapping, out);
+			renderMarkupMappingBoxEnd(mapping, out);
+		}
+	}
+	
+	private <T> void renderMappingContent(FormMapping<T> mapping, Appendable out) throws IOException {
 		if (mapping.getProperties().isFieldsetDisplayed()) {
-			sb.append("<fieldset");
+			out.append("<fieldset");
 			if (!mapping.isEnabled()) {
-				sb.append(" disabled=\"disabled\"");
+				out.append(" disabled=\"disabled\"");
 			}
-			sb.append(">");
+			out.append(">");
 		}
 		
 		// Label
-		sb.append(renderMarkupMappingLabel(mapping));
+		out.append(renderMarkupMappingLabel(mapping));
 
 		// Mapping messages
-		sb.append(renderMarkupMessageList(mapping));
+		out.append(renderMarkupMessageList(mapping));
 		
 		// Nested mappings and fields
 		if (mapping instanceof BasicListFormMapping) {
 			BasicListFormMapping<?> listMapping = (BasicListFormMapping<?>)mapping; 
-			sb.append(renderMarkupListMapping(listMapping));
+			renderMarkupListMapping(listMapping, out);
 		} else {
 			for (FormElement<?> el : mapping.getElements()) {
-				sb.append(renderElement(el));
+				renderElement(el, out);
 			}
 		}
 		
 		if (mapping.getProperties().isFieldsetDisplayed()) {
-			sb.append("</fieldset>").append(newLine());
+			out.append("</fieldset>").append(newLine());
 		}
-		
-		return newLine() + renderMarkupMappingBox(mapping, sb.toString());
 	}
 
 	/**
@@ -170,15 +393,46 @@ public class FormRenderer {
 	 * @return
 	 */
 	protected <T> String renderMarkupListMapping(BasicListFormMapping<T> listMapping) {
-		String pathSep = listMapping.getConfig().getPathSeparator();
 		StringBuilder sb = new StringBuilder();
-		sb.append("<div id=\"").append(listMapping.getName()).append(pathSep).append("begin\"></div>").append(newLine());
-		for (FormMapping<?> m : listMapping.getList()) {
-			sb.append(renderElement(m));
+		try {
+			if (isOverridden(StringHook.LIST_MAPPING)) {
+				renderListMappingInternal(listMapping, sb);
+			} else {
+				renderMarkupListMapping(listMapping, sb);
+			}
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex);
 		}
-		sb.append("<div id=\"").append(listMapping.getName()).append(pathSep).append("end\"></div>").append(newLine());
 		return sb.toString();
 	}
+	
+	/**
+	 * Renders visible list mapping to given output.
+	 * @param listMapping
+	 * @param out
+	 * @throws IOException
+	 */
+	protected <T> void renderMarkupListMapping(BasicListFormMapping<T> listMapping, Appendable out) throws IOException {
+		if (isOverridden(StringHook.LIST_MAPPING)) {
+			out.append(renderMarkupListMapping(listMapping));
+		} else {
+			renderListMappingInternal(listMapping, out);
+		}
+	}
+	
+	private <T> void renderListMappingInternal(BasicListFormMapping<T> listMapping, Appendable out) throws IOException {
+		String pathSep = listMapping.getConfig().getPathSeparator();
+		out.append("<div id=\"").append(listMapping.getName()).append(pathSep).append("begin\"></div>").append(newLine());
+		List<FormMapping<T>> rows = listMapping.getList();
+		if (parallelRendering != null && rows.size() >= parallelRendering.getThreshold() && RENDERING_CHUNK.get() == null) {
+			renderElementsInParallel(rows, out);
+		} else {
+			for (FormMapping<?> m : rows) {
+				renderElement(m, out);
+			}
+		}
+		out.append("<div id=\"").append(listMapping.getName()).append(pathSep).append("end\"></div>").append(newLine());
+	}
 
 	/**
 	 * Renders form field in visible state (assuming the field is visible).
@@ -187,84 +441,111 @@ public class FormRenderer {
 	 */
 	public <T> String renderVisibleField(FormField<T> field) {
 		StringBuilder sb = new StringBuilder();
+		try {
+			if (isOverridden(StringHook.VISIBLE_FIELD)) {
+				renderVisibleFieldInternal(field, sb);
+			} else {
+				renderVisibleField(field, sb);
+			}
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex);
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Renders form field in visible state (assuming the field is visible) to given output.
+	 * @param field
+	 * @param out
+	 * @throws IOException
+	 */
+	public <T> void renderVisibleField(FormField<T> field, Appendable out) throws IOException {
+		if (isOverridden(StringHook.VISIBLE_FIELD)) {
+			out.append(renderVisibleField(field));
+		} else {
+			renderVisibleFieldInternal(field, out);
+		}
+	}
+	
+	private <T> void renderVisibleFieldInternal(FormField<T> field, Appendable out) throws IOException {
 		String type = field.getType();
 		Field formComponent = Field.findByType(type);
 		if (formComponent != null) {
 			switch (formComponent) {
 			case HIDDEN:
-				sb.append(renderFieldHidden(field));
+				out.append(renderFieldHidden(field));
 				break;
 			case TEXT:
-				sb.append(renderFieldText(field));
+				out.append(renderFieldText(field));
 				break;
 			case TEXT_AREA:
-				sb.append(renderFieldTextArea(field));
+				out.append(renderFieldTextArea(field));
 				break;
 			case PASSWORD:
-				sb.append(renderFieldPassword(field));
+				out.append(renderFieldPassword(field));
 				break;
 			case CHECK_BOX:
-				sb.append(renderFieldCheckbox(field));
+				out.append(renderFieldCheckbox(field));
 				break;
 			case DATE_PICKER:
-				sb.append(renderFieldDatePicker(field));
+				out.append(renderFieldDatePicker(field));
 				break;
 			case DROP_DOWN_CHOICE:
-				sb.append(renderFieldDropDownChoice(field));
+				out.append(renderFieldDropDownChoice(field));
 				break;
 			case FILE_UPLOAD:
-				sb.append(renderFieldFileUpload(field));
+				out.append(renderFieldFileUpload(field));
 				break;
 			case MULTIPLE_CHECK_BOX:
-				sb.append(renderFieldMultipleCheckbox(field));
+				out.append(renderFieldMultipleCheckbox(field));
 				break;
 			case RADIO_CHOICE:
-				sb.append(renderFieldRadioChoice(field));
+				out.append(renderFieldRadioChoice(field));
 				break;
 			case COLOR:
-				sb.append(renderFieldColor(field));
+				out.append(renderFieldColor(field));
 				break;
 			case DATE:
-				sb.append(renderFieldDate(field));
+				out.append(renderFieldDate(field));
 				break;
 			case DATE_TIME:
-				sb.append(renderFieldDateTime(field));
+				out.append(renderFieldDateTime(field));
 				break;
 			case DATE_TIME_LOCAL:
-				sb.append(renderFieldDateTimeLocal(field));
+				out.append(renderFieldDateTimeLocal(field));
 				break;
 			case TIME:
-				sb.append(renderFieldTime(field));
+				out.append(renderFieldTime(field));
 				break;
 			case EMAIL:
-				sb.append(renderFieldEmail(field));
+				out.append(renderFieldEmail(field));
 				break;
 			case MONTH:
-				sb.append(renderFieldMonth(field));
+				out.append(renderFieldMonth(field));
 				break;
 			case NUMBER:
-				sb.append(renderFieldNumber(field));
+				out.append(renderFieldNumber(field));
 				break;
 			case RANGE:
-				sb.append(renderFieldRange(field));
+				out.append(renderFieldRange(field));
 				break;
 			case SEARCH:
-				sb.append(renderFieldSearch(field));
+				out.append(renderFieldSearch(field));
 				break;
 			case TEL:
-				sb.append(renderFieldTel(field));
+				out.append(renderFieldTel(field));
 				break;
 			case URL:
-				sb.append(renderFieldUrl(field));
+				out.append(renderFieldUrl(field));
 				break;
 			case WEEK:
-				sb.append(renderFieldWeek(field));
+				out.append(renderFieldWeek(field));
 				break;
 			case BUTTON:
-				sb.append(renderFieldButton(field));
+				out.append(renderFieldButton(field));
 				break;
 			case LINK:
-				sb.append(renderFieldLink(field));
+				out.append(renderFieldLink(field));
 				break;
 			default:
 				throw new UnsupportedOperationException("Cannot render component with type " + type);
@@ -272,7 +553,6 @@ public class FormRenderer {
 		} else {
 			throw new UnsupportedOperationException("Unsupported component with type " + type);
 		}
-		return sb.toString();
 	}
 	
 	public <T> String renderMarkupGlobalMessages(FormMapping<T> formMapping) {
@@ -289,53 +569,88 @@ public class FormRenderer {
 	
 	protected <T> String renderMarkupElementPlaceholder(FormElement<T> element, String innerMarkup) {
 		StringBuilder sb = new StringBuilder();
+		try {
+			renderMarkupElementPlaceholderBegin(element, sb);
+			// The element itself
+			sb.append(innerMarkup);
+			renderMarkupElementPlaceholderEnd(element, sb);
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex);
+		}
+		return sb.toString();
+	}
+	
+	protected <T> void renderMarkupElementPlaceholderBegin(FormElement<T> element, Appendable out) throws IOException {
 		// Element placeholder begin - rendered even for invisible element so there is reserved
 		// identified place that can be updated if the element becomes visible.
-		sb.append("<div id=\"").append(element.getElementPlaceholderId()).append("\">").append(newLine());
-
-		// The element itself
-		sb.append(innerMarkup);
-		
-		// Element placeholder end
-		sb.append("</div>").append(newLine());
-		return sb.toString();
+		out.append("<div id=\"").append(element.getElementPlaceholderId()).append("\">").append(newLine());
+	}
+	
+	protected <T> void renderMarkupElementPlaceholderEnd(FormElement<T> element, Appendable out) throws IOException {
+		Utf8Sink.append(out, divEndLine);
 	}
 
 	protected <T> String renderMarkupMappingBox(FormMapping<T> mapping, String innerMarkup) {
 		StringBuilder sb = new StringBuilder();
+		try {
+			renderMarkupMappingBoxBegin(mapping, sb);
+			sb.append(innerMarkup);
+			renderMarkupMappingBoxEnd(mapping, sb);
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex);
+		}
+		return sb.toString();
+	}
+	
+	protected <T> void renderMarkupMappingBoxBegin(FormMapping<T> mapping, Appendable out) throws IOException {
 		String maxSevClass = getMaxSeverityClass(mapping);
 		if (maxSevClass != null && !maxSevClass.isEmpty()) {
-			sb.append("<div class=\"").append(maxSevClass).append("\">").append(newLine());
+			out.append("<div class=\"").append(maxSevClass).append("\">").append(newLine());
 		}
-		sb.append(innerMarkup);
+	}
+	
+	protected <T> void renderMarkupMappingBoxEnd(FormMapping<T> mapping, Appendable out) throws IOException {
+		String maxSevClass = getMaxSeverityClass(mapping);
 		if (maxSevClass != null && !maxSevClass.isEmpty()) {
-			sb.append("</div>").append(newLine());
+			Utf8Sink.append(out, divEndLine);
 		}
-		return sb.toString();
 	}
 	
 	protected <T> String renderMarkupFormGroup(FormField<T> field, String innerMarkup) {
 		StringBuilder sb = new StringBuilder();
-		String maxSevClass = getMaxSeverityClass(field);
-		int colFormWidth = field.getParent().getConfig().getColFormWidth();
+		try {
+			renderMarkupFormGroupBegin(field, sb);
+			sb.append(innerMarkup);
+			renderMarkupFormGroupEnd(field, sb);
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex);
+		}
+		return sb.toString();
+	}
+	
+	protected <T> void renderMarkupFormGroupBegin(FormField<T> field, Appendable out) throws IOException {
 		InlinePosition inlinePos = field.getProperties().getInline();
 		if (inlinePos == null || InlinePosition.FIRST.equals(inlinePos)) {
-			sb.append("<div class=\"row\">").append(newLine());
-			sb.append("<div class=\"").append(styleRenderer.getFormGroupClasses()).append(" ").append(styleRenderer.getColWidthClassPrefix()).append(colFormWidth).append(" ").append(maxSevClass).append("\">").append(newLine());
+			String maxSevClass = getMaxSeverityClass(field);
+			RenderTemplates.FieldTemplate template = getFieldTemplate(field);
+			out.append(template != null ? template.formGroupBegin : compileFormGroupBegin(field));
+			out.append(String.valueOf(maxSevClass)).append("\">").append(newLine());
 		}
-		
-		sb.append(innerMarkup);
-		
+	}
+	
+	protected <T> void renderMarkupFormGroupEnd(FormField<T> field, Appendable out) throws IOException {
+		InlinePosition inlinePos = field.getProperties().getInline();
 		if (inlinePos == null || InlinePosition.LAST.equals(inlinePos)) {
-			sb.append("</div>").append(newLine());
-			sb.append("</div>").append(newLine()).append(newLine());
+			Utf8Sink.append(out, divEndLine);
+			Utf8Sink.append(out, divEndLine);
+			out.append(newLine());
 		}
-		return sb.toString();
 	}
 
 	protected <T> String renderMarkupInputEnvelope(FormField<T> field, String innerMarkup) {
 		StringBuilder sb = new StringBuilder();
-		sb.append("<div class=\"").append(styleRenderer.getInputEnvelopeClasses(field)).append("\">").append(newLine());
+		RenderTemplates.FieldTemplate template = getFieldTemplate(field);
+		sb.append(template != null ? template.inputEnvelopeBegin : compileInputEnvelopeBegin(field));
 		sb.append(innerMarkup);
 		sb.append("</div>").append(newLine());
 		return sb.toString();
@@ -350,7 +665,14 @@ public class FormRenderer {
 	}
 
 	protected <T> String renderMarkupFieldLabel(FormField<T> field) {
-		return labelRenderer.renderFieldLabel(field);
+		RenderTemplates.FieldTemplate template = getFieldTemplate(field);
+		if (template == null) {
+			return labelRenderer.renderFieldLabel(field);
+		}
+		if (template.labelEnd == null) {
+			return template.labelBegin;
+		}
+		return template.labelBegin + field.getName() + template.labelEnd;
 	}
 	
 	protected <T> String renderMarkupTextArea(FormField<T> field) {
@@ -367,7 +689,7 @@ public class FormRenderer {
 		sb.append(getElementAttributes(field));
 		sb.append(getInputPlaceholderAttribute(field));
 		sb.append(">");
-		sb.append(escapeHtml(field.getValue()));
+		RenderUtils.escapeHtml(field.getValue(), sb);
 		sb.append("</textarea>").append(newLine());
 		sb.append(renderFieldScript(field, InputMultiplicity.SINGLE));
 		return sb.toString();
@@ -383,8 +705,8 @@ public class FormRenderer {
 				sb.append(" accept=\"").append(accept).append("\"");
 			}
 		} else {
-			String value = escapeHtml(field.getValue());
-			sb.append(" value=\"").append(value).append("\"");
+			sb.append(" value=\"");
+			RenderUtils.escapeHtml(field.getValue(), sb).append("\"");
 			Integer size = field.getProperties().getProperty(FormElementProperty.SIZE);
 			if (size != null) {
 				sb.append(" size=\"").append(size.intValue()).append("\"");
@@ -433,20 +755,31 @@ public class FormRenderer {
 		sb.append(getElementAttributes(field));
 		sb.append(">").append(newLine());
 		if (field.getChoices() != null) {
-			List<T> items = toSimplyTypedItems(field.getChoices().getItems());
+			List<? extends T> items = field.getChoices().getItems();
 			if (items != null) {
 				// First "Choose One" option
 				if (field.getProperties().isChooseOptionDisplayed()) {
-					sb.append(renderMarkupOption("", field.getProperties().getChooseOptionTitle(), false));
+					sb.append(renderMarkupOption("", escapeHtml(field.getProperties().getChooseOptionTitle()), false));
 				}
 				ChoiceRenderer<T> choiceRenderer = field.getChoiceRenderer();
-				int itemIndex = 0;
-				for (T item : items) {
-					String value = getChoiceValue(choiceRenderer, item, itemIndex);
-					String title = getChoiceTitle(choiceRenderer, item, itemIndex);
-					boolean selected = field.getFilledObjects().contains(item);
-					sb.append(renderMarkupOption(value, title, selected));
-					itemIndex++;
+				Collection<T> selectedItems = getSelectedItems(field);
+				RenderTemplates.OptionsTemplate options = getOptionsTemplate(field, items);
+				if (options != null) {
+					// only selection is rendered, escaped options are copied from the template
+					for (int i = 0; i < options.optionBegins.length; i++) {
+						sb.append(options.optionBegins[i]);
+						if (selectedItems.contains(items.get(i))) {
+							sb.append(SELECTED_ATTRIBUTE);
+						}
+						sb.append(options.optionEnds[i]);
+					}
+				} else {
+					int itemIndex = 0;
+					for (T item : items) {
+						ChoiceItem choiceItem = choiceRenderer.getItem(item, itemIndex);
+						sb.append(renderMarkupOption(escapeHtml(choiceItem.getId()), escapeHtml(choiceItem.getTitle()), selectedItems.contains(item)));
+						itemIndex++;
+					}
 				}
 			}
 		}
@@ -461,13 +794,15 @@ public class FormRenderer {
 		}
 		StringBuilder sb = new StringBuilder();
 		if (field.getChoices() != null) {
-			List<T> items = toSimplyTypedItems(field.getChoices().getItems());
+			List<? extends T> items = field.getChoices().getItems();
 			if (items != null) {
 				ChoiceRenderer<T> choiceRenderer = field.getChoiceRenderer();
+				Collection<T> selectedItems = getSelectedItems(field);
 				int itemIndex = 0;
 				for (T item : items) {
-					String value = getChoiceValue(choiceRenderer, item, itemIndex);
-					String title = getChoiceTitle(choiceRenderer, item, itemIndex);
+					ChoiceItem choiceItem = choiceRenderer.getItem(item, itemIndex);
+					String value = escapeHtml(choiceItem.getId());
+					String title = escapeHtml(choiceItem.getTitle());
 					String itemId = field.getElementIdWithIndex(itemIndex);
 
 					sb.append("<div class=\"").append(field.getInputType()).append("\">").append(newLine());
@@ -476,7 +811,7 @@ public class FormRenderer {
 					}
 
 					sb.append("<input type=\"").append(field.getInputType()).append("\" name=\"").append(field.getName()).append("\" id=\"").append(itemId).append("\" value=\"").append(value).append("\"");
-					if (field.getFilledObjects().contains(item)) {
+					if (selectedItems.contains(item)) {
 						sb.append(" checked=\"checked\"");
 					}
 					sb.append(getElementAttributes(field));
@@ -727,7 +1062,7 @@ public class FormRenderer {
 			renderMarkupInputEnvelope(field,
 				"<label>" +
 				renderMarkupCheckbox(field) + 
-				getLabelText(field) +
+				getFieldLabelText(field) +
 				"</label>" +
 				renderMarkupMessageList(field)
 		) + "</div>" + newLine();
@@ -817,24 +1152,195 @@ public class FormRenderer {
 		return location;
 	}
 	
+	/**
+	 * Returns true if static markup of fields (labels, form groups, input envelopes) 
+	 * can be compiled once for each definition of field and then reused for all renderers
+	 * of the same class and location. Subclasses that render this markup according to 
+	 * their instance state (other than location) should return false.
+	 * @return
+	 */
+	protected boolean isRenderTemplateCacheable() {
+		return true;
+	}
+	
 	String escapeHtml(String html) {
 		return RenderUtils.escapeHtml(html);
 	}
 	
+	/**
+	 * Returns string that ends the lines of rendered markup.
+	 * @return
+	 */
+	public String getLineSeparator() {
+		return lineSeparator;
+	}
+	
 	String newLine() {
-		return System.getProperty("line.separator");
+		return lineSeparator;
 	}
 	
 	String renderMarkupMessage(ConstraintViolationMessage msg) {
 		return messageRenderer.renderMessage(msg);
 	}
 	
-	private <T> String getChoiceTitle(ChoiceRenderer<T> choiceRenderer, T item, int itemIndex) {
-		return escapeHtml(choiceRenderer.getItem(item, itemIndex).getTitle());
+	/**
+	 * Renders given elements in chunks on the executor of parallel rendering, the first chunk 
+	 * is rendered by the calling thread directly to the output. Rendered chunks are written 
+	 * in the order of elements.
+	 * @param elements
+	 * @param out
+	 * @throws IOException
+	 */
+	private <U> void renderElementsInParallel(final List<FormMapping<U>> elements, Appendable out) throws IOException {
+		final int chunkSize = parallelRendering.getChunkSize();
+		List<CompletableFuture<String>> chunks = new ArrayList<CompletableFuture<String>>();
+		for (int from = chunkSize; from < elements.size(); from += chunkSize) {
+			final List<FormMapping<U>> chunk = elements.subList(from, Math.min(from + chunkSize, elements.size()));
+			chunks.add(CompletableFuture.supplyAsync(new Supplier<String>() {
+				@Override
+				public String get() {
+					RENDERING_CHUNK.set(Boolean.TRUE);
+					try {
+						StringBuilder sb = new StringBuilder();
+						for (FormMapping<U> el : chunk) {
+							renderElement(el, sb);
+						}
+						return sb.toString();
+					} catch (IOException ex) {
+						throw new IllegalStateException(ex.getMessage(), ex); // cannot happen for StringBuilder
+					} finally {
+						RENDERING_CHUNK.remove();
+					}
+				}
+			}, parallelRendering.getExecutor()));
+		}
+		try {
+			for (FormMapping<U> el : elements.subList(0, Math.min(chunkSize, elements.size()))) {
+				renderElement(el, out);
+			}
+			for (CompletableFuture<String> chunk : chunks) {
+				out.append(chunk.join());
+			}
+		} catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)ex.getCause();
+			}
+			if (ex.getCause() instanceof Error) {
+				throw (Error)ex.getCause();
+			}
+			throw ex;
+		} finally {
+			for (CompletableFuture<String> chunk : chunks) {
+				chunk.cancel(false);
+			}
+		}
 	}
-
-	private <T> String getChoiceValue(ChoiceRenderer<T> choiceRenderer, T item, int itemIndex) {
-		return escapeHtml(choiceRenderer.getItem(item, itemIndex).getId());
+	
+	/**
+	 * Returns settings of parallel rendering of large list mappings; 
+	 * or {@code null} if the lists are rendered sequentially.
+	 * @return
+	 */
+	public ParallelRendering getParallelRendering() {
+		return parallelRendering;
+	}
+	
+	/**
+	 * Returns compiled static markup of given field; or {@code null} if templates are not used.
+	 * @param field
+	 * @return
+	 */
+	private <T> RenderTemplates.FieldTemplate getFieldTemplate(FormField<T> field) {
+		if (!isRenderTemplateCacheable() || field.getParent() == null) {
+			return null;
+		}
+		RenderTemplates.TemplateKey key = new RenderTemplates.TemplateKey(getClass(), getLocation(field).getLocale(), lineSeparator, field);
+		RenderTemplates.FieldTemplate template = TEMPLATES.get(key);
+		if (template == null) {
+			// name of the field (different for rows of list mappings) is a slot in the label
+			String label = labelRenderer.renderFieldLabel(field);
+			String labelBegin = label;
+			String labelEnd = null;
+			int namePos = label.indexOf("\"id-" + field.getName() + "\"");
+			if (namePos >= 0) {
+				namePos += "\"id-".length();
+				labelBegin = label.substring(0, namePos);
+				labelEnd = label.substring(namePos + field.getName().length());
+			}
+			template = new RenderTemplates.FieldTemplate(
+				labelBegin,
+				labelEnd,
+				getLabelText(field),
+				compileFormGroupBegin(field),
+				compileInputEnvelopeBegin(field));
+			TEMPLATES.put(key, template);
+		}
+		return template;
+	}
+	
+	private <T> String getFieldLabelText(FormField<T> field) {
+		RenderTemplates.FieldTemplate template = getFieldTemplate(field);
+		return template != null ? template.labelText : getLabelText(field);
+	}
+	
+	private <T> String compileFormGroupBegin(FormField<T> field) {
+		int colFormWidth = field.getParent().getConfig().getColFormWidth();
+		StringBuilder sb = new StringBuilder();
+		sb.append("<div class=\"row\">").append(newLine());
+		sb.append("<div class=\"").append(styleRenderer.getFormGroupClasses()).append(" ").append(styleRenderer.getColWidthClassPrefix()).append(colFormWidth).append(" ");
+		return sb.toString();
+	}
+	
+	private <T> String compileInputEnvelopeBegin(FormField<T> field) {
+		return "<div class=\"" + styleRenderer.getInputEnvelopeClasses(field) + "\">" + newLine();
+	}
+	
+	/**
+	 * Returns compiled escaped options for given items of select; or {@code null} 
+	 * if the items cannot be cached.
+	 * @param field
+	 * @param items items from choice provider of the field
+	 * @return
+	 */
+	private <T> RenderTemplates.OptionsTemplate getOptionsTemplate(FormField<T> field, List<? extends T> items) {
+		if (!isRenderTemplateCacheable() || !(field.getChoices() instanceof CacheableChoiceProvider)) {
+			return null;
+		}
+		RenderTemplates.OptionsKey key = new RenderTemplates.OptionsKey(
+			(CacheableChoiceProvider<?>)field.getChoices(), field.getChoiceRenderer(), getClass(), getLocation(field).getLocale(), lineSeparator);
+		RenderTemplates.OptionsTemplate template = TEMPLATES.getOptions(key);
+		if (template == null || template.optionBegins.length != items.size()) {
+			ChoiceRenderer<T> choiceRenderer = field.getChoiceRenderer();
+			String[] optionBegins = new String[items.size()];
+			String[] optionEnds = new String[items.size()];
+			int itemIndex = 0;
+			for (T item : items) {
+				ChoiceItem choiceItem = choiceRenderer.getItem(item, itemIndex);
+				optionBegins[itemIndex] = renderMarkupOptionBegin(escapeHtml(choiceItem.getId()));
+				optionEnds[itemIndex] = renderMarkupOptionEnd(escapeHtml(choiceItem.getTitle()));
+				itemIndex++;
+			}
+			template = new RenderTemplates.OptionsTemplate(optionBegins, optionEnds);
+			TEMPLATES.putOptions(key, template);
+		}
+		return template;
+	}
+	
+	/**
+	 * Returns selected (filled) items of given field that can be efficiently 
+	 * tested whether they contain an item.
+	 * @param field
+	 * @return
+	 */
+	private <T> Collection<T> getSelectedItems(FormField<T> field) {
+		List<T> filledObjects = field.getFilledObjects();
+		if (filledObjects == null) {
+			return Collections.<T>emptyList();
+		}
+		if (filledObjects.size() <= MAX_SCANNED_SELECTED_ITEMS) {
+			return filledObjects;
+		}
+		return new HashSet<T>(filledObjects);
 	}
 	
 	private <T> String getMaxSeverityClass(FormElement<T> mapping) {
@@ -845,23 +1351,74 @@ public class FormRenderer {
 		return maxSevClass;
 	}
 	
+	/**
+	 * Renders option of select.
+	 * @param value already escaped value
+	 * @param title already escaped title
+	 * @param selected
+	 * @return
+	 */
 	private String renderMarkupOption(String value, String title, boolean selected) {
 		StringBuilder sb = new StringBuilder();
-		sb.append("<option value=\"").append(escapeHtml(value)).append("\"");
+		sb.append(renderMarkupOptionBegin(value));
 		if (selected) {
-			sb.append(" selected=\"selected\"");
+			sb.append(SELECTED_ATTRIBUTE);
 		}
-		sb.append(">").append(escapeHtml(title)).append("</option>").append(newLine());
+		sb.append(renderMarkupOptionEnd(title));
 		return sb.toString();
 	}
 	
-	private <T> List<T> toSimplyTypedItems(List<? extends T> items) {
-		List<T> retItems = new ArrayList<T>();
-		if (items != null) {
-			for (T item : items) {
-				retItems.add(item);
+	private String renderMarkupOptionBegin(String value) {
+		return "<option value=\"" + value + "\"";
+	}
+	
+	private String renderMarkupOptionEnd(String title) {
+		return ">" + title + "</option>" + newLine();
+	}
+	
+	private boolean isOverridden(StringHook hook) {
+		return overriddenHooks.contains(hook);
+	}
+	
+	/**
+	 * Methods of rendering chain that return markup as String. Subclasses written before rendering 
+	 * to {@link Appendable} could override them; when such method is overridden, rendering of its level 
+	 * goes through the overriding method instead of the Appendable variant.
+	 */
+	private enum StringHook {
+		ELEMENT("renderElement", FormElement.class),
+		ELEMENT_MARKUP("renderElementMarkup", FormElement.class),
+		VISIBLE_ELEMENT("renderVisibleElement", FormElement.class),
+		VISIBLE_MAPPING("renderVisibleMapping", FormMapping.class),
+		VISIBLE_FIELD("renderVisibleField", FormField.class),
+		LIST_MAPPING("renderMarkupListMapping", BasicListFormMapping.class),
+		ELEMENT_PLACEHOLDER("renderMarkupElementPlaceholder", FormElement.class, String.class),
+		MAPPING_BOX("renderMarkupMappingBox", FormMapping.class, String.class),
+		FORM_GROUP("renderMarkupFormGroup", FormField.class, String.class);
+		
+		private final String methodName;
+		private final Class<?>[] paramTypes;
+		
+		private StringHook(String methodName, Class<?> ... paramTypes) {
+			this.methodName = methodName;
+			this.paramTypes = paramTypes;
+		}
+		
+		/**
+		 * Returns true if the method is declared by given renderer class or its superclass 
+		 * below {@link FormRenderer}. {@link FormRendererWrapper} only delegates to the wrapped 
+		 * renderer, so its methods are not considered as overriding.
+		 */
+		boolean isOverriddenBy(Class<?> rendererClass) {
+			for (Class<?> cls = rendererClass; cls != null && cls != FormRenderer.class && cls != FormRendererWrapper.class; cls = cls.getSuperclass()) {
+				try {
+					cls.getDeclaredMethod(methodName, paramTypes);
+					return true;
+				} catch (NoSuchMethodException ex) {
+					// not declared in this class
+				}
 			}
+			return false;
 		}
-		return retItems;
 	}
 }
@@ -16,6 +16,8 @@
  */
 package net.formio.render;
 
+import java.io.IOException;
+
 import net.formio.BasicListFormMapping;
 import net.formio.FormElement;
 import net.formio.FormField;
@@ -33,7 +35,7 @@ public class FormRendererWrapper extends FormRenderer {
 	private final FormRenderer inner;
 	
 	public FormRendererWrapper(FormRenderer wrapped) {
-		super(wrapped.getLocation());
+		super(wrapped.getLocation(), wrapped.getLineSeparator(), wrapped.getParallelRendering());
 		this.inner = wrapped;
 	}
 	
@@ -53,6 +55,11 @@ public class FormRendererWrapper extends FormRenderer {
 	public <T> String renderElement(FormElement<T> element) {
 		return getInnerRenderer().renderElement(element);
 	}
+	
+	@Override
+	public <T> void renderElement(FormElement<T> element, Appendable out) throws IOException {
+		getInnerRenderer().renderElement(element, out);
+	}
 
 	/**
 	 * Renders the element itself without the surrounding placeholder tag.
@@ -64,6 +71,11 @@ public class FormRendererWrapper extends FormRenderer {
 	public <T> String renderElementMarkup(FormElement<T> element) {
 		return getInnerRenderer().renderElementMarkup(element);
 	}
+	
+	@Override
+	public <T> void renderElementMarkup(FormElement<T> element, Appendable out) throws IOException {
+		getInnerRenderer().renderElementMarkup(element, out);
+	}
 		
 	/**
 	 * Renders element in visible state (assuming the element is visible).
@@ -74,6 +86,11 @@ public class FormRendererWrapper extends FormRenderer {
 	public <T> String renderVisibleElement(FormElement<T> element) {
 		return getInnerRenderer().renderVisibleElement(element);
 	}
+	
+	@Override
+	public <T> void renderVisibleElement(FormElement<T> element, Appendable out) throws IOException {
+		getInnerRenderer().renderVisibleElement(element, out);
+	}
 
 	/**
 	 * Renders form mapping in visible state (assuming the mapping is visible).
@@ -84,6 +101,11 @@ public class FormRendererWrapper extends FormRenderer {
 	public <T> String renderVisibleMapping(FormMapping<T> mapping) {
 		return getInnerRenderer().renderVisibleMapping(mapping);
 	}
+	
+	@Override
+	public <T> void renderVisibleMapping(FormMapping<T> mapping, Appendable out) throws IOException {
+		getInnerRenderer().renderVisibleMapping(mapping, out);
+	}
 
 	/**
 	 * Renders form field in visible state (assuming the field is visible).
@@ -94,6 +116,11 @@ public class FormRendererWrapper extends FormRenderer {
 	public <T> String renderVisibleField(FormField<T> field) {
 		return getInnerRenderer().renderVisibleField(field);
 	}
+	
+	@Override
+	public <T> void renderVisibleField(FormField<T> field, Appendable out) throws IOException {
+		getInnerRenderer().renderVisibleField(field, out);
+	}
 
 	/**
 	 * Creates builder of AJAX response.
@@ -109,20 +136,55 @@ public class FormRendererWrapper extends FormRenderer {
 		return getInnerRenderer().renderMarkupListMapping(listMapping);
 	}
 	
+	@Override
+	protected <T> void renderMarkupListMapping(BasicListFormMapping<T> listMapping, Appendable out) throws IOException {
+		getInnerRenderer().renderMarkupListMapping(listMapping, out);
+	}
+	
 	@Override
 	protected <T> String renderMarkupElementPlaceholder(FormElement<T> element, String innerMarkup) {
 		return getInnerRenderer().renderMarkupElementPlaceholder(element, innerMarkup);
 	}
+	
+	@Override
+	protected <T> void renderMarkupElementPlaceholderBegin(FormElement<T> element, Appendable out) throws IOException {
+		getInnerRenderer().renderMarkupElementPlaceholderBegin(element, out);
+	}
+	
+	@Override
+	protected <T> void renderMarkupElementPlaceholderEnd(FormElement<T> element, Appendable out) throws IOException {
+		getInnerRenderer().renderMarkupElementPlaceholderEnd(element, out);
+	}
 
 	@Override
 	protected <T> String renderMarkupMappingBox(FormMapping<T> mapping, String innerMarkup) {
 		return getInnerRenderer().renderMarkupMappingBox(mapping, innerMarkup);
 	}
 	
+	@Override
+	protected <T> void renderMarkupMappingBoxBegin(FormMapping<T> mapping, Appendable out) throws IOException {
+		getInnerRenderer().renderMarkupMappingBoxBegin(mapping, out);
+	}
+	
+	@Override
+	protected <T> void renderMarkupMappingBoxEnd(FormMapping<T> mapping, Appendable out) throws IOException {
+		getInnerRenderer().renderMarkupMappingBoxEnd(mapping, out);
+	}
+	
 	@Override
 	protected <T> String renderMarkupFormGroup(FormField<T> field, String innerMarkup) {
 		return getInnerRenderer().renderMarkupFormGroup(field, innerMarkup);
 	}
+	
+	@Override
+	protected <T> void renderMarkupFormGroupBegin(FormField<T> field, Appendable out) throws IOException {
+		getInnerRenderer().renderMarkupFormGroupBegin(field, out);
+	}
+	
+	@Override
+	protected <T> void renderMarkupFormGroupEnd(FormField<T> field, Appendable out) throws IOException {
+		getInnerRenderer().renderMarkupFormGroupEnd(field, out);
+	}
 
 	@Override
 	protected <T> String renderMarkupInputEnvelope(FormField<T> field, String innerMarkup) {
@@ -64,7 +64,8 @@ class MessageRenderer {
 
 	protected String renderMessage(ConstraintViolationMessage msg) {
 		StringBuilder sb = new StringBuilder();
-		sb.append("<div class=\"").append(msg.getSeverity().getStyleClass()).append("\">").append(renderer.escapeHtml(msg.getText())).append("</div>").append(renderer.newLine());
+		sb.append("<div class=\"").append(msg.getSeverity().getStyleClass()).append("\">");
+		RenderUtils.escapeHtml(msg.getText(), sb).append("</div>").append(renderer.newLine());
 		return sb.toString();
 	}
 }
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.render;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Settings of parallel rendering of rows of large list mappings. 
+ * Rows of a list mapping with at least threshold count of rows are split to chunks that are 
+ * rendered in parallel on the executor into separate buffers; the buffers are then 
+ * written to the output in the order of the rows, so the markup is the same as when 
+ * rendered sequentially. Smaller lists and lists nested in rows rendered in parallel 
+ * are rendered sequentially.
+ * <p>Thread-safe: Immutable.</p>
+ * @author Radek Beran
+ */
+public final class ParallelRendering {
+	/** Default minimal count of rows of list mapping that are rendered in parallel. */
+	public static final int DEFAULT_THRESHOLD = 200;
+	/** Default count of rows in one chunk rendered by one task. */
+	public static final int DEFAULT_CHUNK_SIZE = 50;
+	
+	private final Executor executor;
+	private final int threshold;
+	private final int chunkSize;
+	
+	/**
+	 * Creates settings of parallel rendering.
+	 * @param executor executor for rendering of chunks of rows
+	 * @param threshold minimal count of rows of list mapping that are rendered in parallel
+	 * @param chunkSize count of rows in one chunk rendered by one task
+	 */
+	public ParallelRendering(Executor executor, int threshold, int chunkSize) {
+		if (executor == null) {
+			throw new IllegalArgumentException("executor cannot be null");
+		}
+		if (threshold < 1) {
+			throw new IllegalArgumentException("threshold must be positive");
+		}
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be positive");
+		}
+		this.executor = executor;
+		this.threshold = threshold;
+		this.chunkSize = chunkSize;
+	}
+	
+	/**
+	 * Creates settings of parallel rendering with default threshold and chunk size.
+	 * @param executor executor for rendering of chunks of rows
+	 */
+	public ParallelRendering(Executor executor) {
+		this(executor, DEFAULT_THRESHOLD, DEFAULT_CHUNK_SIZE);
+	}
+
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	public int getThreshold() {
+		return threshold;
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+}
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.render;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.formio.Config;
+import net.formio.FormField;
+import net.formio.choice.CacheableChoiceProvider;
+import net.formio.choice.ChoiceRenderer;
+import net.formio.common.heterog.HeterogMap;
+
+/**
+ * Cache of compiled render templates of form fields. Template holds the static parts
+ * of markup of a field (label, form group and input envelope) that depend only on the definition 
+ * of the field and on the class, location and line separator of the renderer; dynamic parts (name
+ * in the label, value, messages, severity class) are filled into the template on each rendering.
+ * Filled copies of the same definition share the immutable properties and label key (without 
+ * indexes of list mappings), so they share also the compiled template, including all rows of lists.
+ * Cached are also escaped options of selects with items from {@link CacheableChoiceProvider}; 
+ * only selection of the options is rendered each time.
+ * <p>Keys reference the definitions, configurations, classes and choice providers only weakly 
+ * and templates hold only strings, so the cache does not prevent unloading of application classes.
+ * When the cache is full, one entry is evicted for each added one.</p>
+ * <p>Thread-safe.</p>
+ * @author Radek Beran
+ */
+final class RenderTemplates {
+	/** Maximum count of cached templates of each kind. */
+	static final int MAX_TEMPLATES = 4096;
+	
+	private final ConcurrentMap<TemplateKey, FieldTemplate> fieldTemplates = new ConcurrentHashMap<TemplateKey, FieldTemplate>();
+	private final ConcurrentMap<OptionsKey, OptionsTemplate> optionsTemplates = new ConcurrentHashMap<OptionsKey, OptionsTemplate>();
+	
+	/**
+	 * Returns template cached for given key or {@code null}.
+	 * @param key
+	 * @return
+	 */
+	FieldTemplate get(TemplateKey key) {
+		return fieldTemplates.get(key);
+	}
+	
+	/**
+	 * Caches compiled template.
+	 * @param key
+	 * @param template
+	 */
+	void put(TemplateKey key, FieldTemplate template) {
+		// definitions with properties changed on each request would grow the cache without limits
+		evictIfFull(fieldTemplates);
+		fieldTemplates.put(key, template);
+	}
+	
+	/**
+	 * Returns options template cached for given key or {@code null}.
+	 * @param key
+	 * @return
+	 */
+	OptionsTemplate getOptions(OptionsKey key) {
+		return optionsTemplates.get(key);
+	}
+	
+	/**
+	 * Caches compiled options template.
+	 * @param key
+	 * @param template
+	 */
+	void putOptions(OptionsKey key, OptionsTemplate template) {
+		evictIfFull(optionsTemplates);
+		optionsTemplates.put(key, template);
+	}
+	
+	int size() {
+		return fieldTemplates.size();
+	}
+	
+	int optionsSize() {
+		return optionsTemplates.size();
+	}
+	
+	void clear() {
+		fieldTemplates.clear();
+		optionsTemplates.clear();
+	}
+	
+	private static <K> void evictIfFull(ConcurrentMap<K, ?> templates) {
+		Iterator<K> it = templates.keySet().iterator();
+		while (templates.size() >= MAX_TEMPLATES && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+	
+	/**
+	 * Static markup of a form field.
+	 */
+	static final class FieldTemplate {
+		/** Markup of field label up to the slot for the name of field; whole label if there is no slot. */
+		final String labelBegin;
+		/** Markup of field label after the slot for the name of field; or {@code null} if there is no slot. */
+		final String labelEnd;
+		/** Label text (with required mark). */
+		final String labelText;
+		/** Beginning of form group up to the slot for severity class. */
+		final String formGroupBegin;
+		/** Beginning of input envelope. */
+		final String inputEnvelopeBegin;
+		
+		FieldTemplate(String labelBegin, String labelEnd, String labelText, String formGroupBegin, String inputEnvelopeBegin) {
+			this.labelBegin = labelBegin;
+			this.labelEnd = labelEnd;
+			this.labelText = labelText;
+			this.formGroupBegin = formGroupBegin;
+			this.inputEnvelopeBegin = inputEnvelopeBegin;
+		}
+	}
+	
+	/**
+	 * Escaped markup of options of a select. Markup of each option is split
+	 * to the part before and after the slot for selected attribute.
+	 * Options are in the order of items of the choice provider.
+	 */
+	static final class OptionsTemplate {
+		/** Beginnings of options up to the slot for selected attribute. */
+		final String[] optionBegins;
+		/** Ends of options after the slot for selected attribute. */
+		final String[] optionEnds;
+		
+		OptionsTemplate(String[] optionBegins, String[] optionEnds) {
+			this.optionBegins = optionBegins;
+			this.optionEnds = optionEnds;
+		}
+	}
+	
+	/**
+	 * Identifies the version of items of choice provider rendered by given choice renderer
+	 * and form renderer. Providers and choice renderers are compared by identity.
+	 */
+	static final class OptionsKey {
+		private final WeakReference<CacheableChoiceProvider<?>> provider;
+		private final long version;
+		private final WeakReference<ChoiceRenderer<?>> choiceRenderer;
+		private final WeakReference<Class<?>> rendererClass;
+		private final Locale locale;
+		private final String lineSeparator;
+		private final int hash;
+		
+		OptionsKey(CacheableChoiceProvider<?> provider, ChoiceRenderer<?> choiceRenderer, Class<?> rendererClass, Locale locale, String lineSeparator) {
+			this.provider = TemplateKey.<CacheableChoiceProvider<?>>weak(provider);
+			this.version = provider.getVersion();
+			this.choiceRenderer = TemplateKey.<ChoiceRenderer<?>>weak(choiceRenderer);
+			this.rendererClass = TemplateKey.<Class<?>>weak(rendererClass);
+			this.locale = locale;
+			this.lineSeparator = lineSeparator;
+			int h = System.identityHashCode(provider);
+			h = 31 * h + (int)(version ^ (version >>> 32));
+			h = 31 * h + System.identityHashCode(choiceRenderer);
+			h = 31 * h + rendererClass.hashCode();
+			h = 31 * h + (locale != null ? locale.hashCode() : 0);
+			h = 31 * h + lineSeparator.hashCode();
+			this.hash = h;
+		}
+		
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof OptionsKey))
+				return false;
+			OptionsKey other = (OptionsKey) obj;
+			return hash == other.hash
+				&& version == other.version
+				&& TemplateKey.same(provider, other.provider)
+				&& TemplateKey.same(choiceRenderer, other.choiceRenderer)
+				&& TemplateKey.same(rendererClass, other.rendererClass)
+				&& TemplateKey.eq(locale, other.locale)
+				&& lineSeparator.equals(other.lineSeparator);
+		}
+	}
+	
+	/**
+	 * Identifies the definition of a field together with renderer configuration.
+	 * Properties and configuration are compared by identity (they are immutable and shared 
+	 * by filled copies of the definition). Name of the field is not part of the key, label key
+	 * (without indexes of list mappings) is used instead.
+	 */
+	static final class TemplateKey {
+		private final WeakReference<Class<?>> rendererClass;
+		private final Locale locale;
+		private final String lineSeparator;
+		private final WeakReference<HeterogMap<String>> properties;
+		private final WeakReference<Config> config;
+		private final WeakReference<Class<?>> parentDataClass;
+		private final WeakReference<Class<?>> rootDataClass;
+		private final String labelKey;
+		private final String type;
+		private final int hash;
+		
+		TemplateKey(Class<?> rendererClass, Locale locale, String lineSeparator, FormField<?> field) {
+			HeterogMap<String> props = field.getProperties().getHeterogMap();
+			Config cfg = field.getParent().getConfig();
+			this.rendererClass = TemplateKey.<Class<?>>weak(rendererClass);
+			this.locale = locale;
+			this.lineSeparator = lineSeparator;
+			this.properties = weak(props);
+			this.config = weak(cfg);
+			this.parentDataClass = TemplateKey.<Class<?>>weak(field.getParent().getDataClass());
+			this.rootDataClass = TemplateKey.<Class<?>>weak(field.getRoot() != null ? field.getRoot().getDataClass() : null);
+			this.labelKey = field.getLabelKey();
+			this.type = field.getType();
+			int h = rendererClass.hashCode();
+			h = 31 * h + (locale != null ? locale.hashCode() : 0);
+			h = 31 * h + lineSeparator.hashCode();
+			h = 31 * h + System.identityHashCode(props);
+			h = 31 * h + System.identityHashCode(cfg);
+			h = 31 * h + (labelKey != null ? labelKey.hashCode() : 0);
+			h = 31 * h + (type != null ? type.hashCode() : 0);
+			this.hash = h;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof TemplateKey))
+				return false;
+			TemplateKey other = (TemplateKey) obj;
+			return hash == other.hash
+				&& same(rendererClass, other.rendererClass)
+				&& same(properties, other.properties)
+				&& same(config, other.config)
+				&& same(parentDataClass, other.parentDataClass)
+				&& same(rootDataClass, other.rootDataClass)
+				&& eq(locale, other.locale)
+				&& lineSeparator.equals(other.lineSeparator)
+				&& eq(labelKey, other.labelKey)
+				&& eq(type, other.type);
+		}
+		
+		static boolean eq(Object a, Object b) {
+			return a == null ? b == null : a.equals(b);
+		}
+		
+		/** Returns weak reference to given object; or {@code null} for {@code null} object. */
+		static <U> WeakReference<U> weak(U obj) {
+			return obj != null ? new WeakReference<U>(obj) : null;
+		}
+		
+		/** True if both references refer to the same object (key with collected referent is not equal to any other key). */
+		static boolean same(WeakReference<?> a, WeakReference<?> b) {
+			if (a == null || b == null) {
+				return a == b;
+			}
+			Object referent = a.get();
+			return referent != null && referent == b.get();
+		}
+	}
+}
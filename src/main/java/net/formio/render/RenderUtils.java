@@ -16,6 +16,7 @@
  */
 package net.formio.render;
 
+import java.io.IOException;
 import java.util.Locale;
 
 import net.formio.FormElement;
@@ -43,58 +44,109 @@ public class RenderUtils {
 	 * Escapes HTML (converts HTML text to XML entities).
 	 * Escape using XSS recommendations from https://www.owasp.org/index.php/Cross_Site_Scripting
 	 * @param s
-	 * @return
+	 * @return escaped string; given string itself if it does not contain any characters to escape
 	 */
 	public static String escapeHtml(String s) {
 		if (s == null || s.isEmpty()) {
 			return "";
 		}
-		StringBuffer sb = new StringBuffer();
-		for (int i = 0; i < s.length(); i++) {
+		int first = indexOfEscaped(s, 0);
+		if (first < 0) {
+			return s;
+		}
+		StringBuilder sb = new StringBuilder(s.length() + 16);
+		try {
+			appendEscaped(s, first, sb);
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex); // cannot happen for StringBuilder
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Escapes HTML (see {@link #escapeHtml(String)}) and appends the result directly
+	 * to given output, without creating intermediate string.
+	 * @param s
+	 * @param out
+	 * @throws IOException
+	 */
+	public static void escapeHtml(CharSequence s, Appendable out) throws IOException {
+		if (s == null || s.length() == 0) {
+			return;
+		}
+		int first = indexOfEscaped(s, 0);
+		if (first < 0) {
+			out.append(s);
+		} else {
+			appendEscaped(s, first, out);
+		}
+	}
+	
+	/**
+	 * Escapes HTML (see {@link #escapeHtml(String)}) and appends the result to given builder.
+	 * @param s
+	 * @param sb
+	 * @return given builder
+	 */
+	static StringBuilder escapeHtml(CharSequence s, StringBuilder sb) {
+		try {
+			escapeHtml(s, (Appendable)sb);
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex); // cannot happen for StringBuilder
+		}
+		return sb;
+	}
+	
+	/**
+	 * Returns index of first character that must be escaped, starting from given index;
+	 * or -1 if there is no such character.
+	 */
+	private static int indexOfEscaped(CharSequence s, int fromIndex) {
+		final int len = s.length();
+		for (int i = fromIndex; i < len; i++) {
 			char c = s.charAt(i);
-			switch (c) {
-				case '<':
-					sb.append("&lt;");
-					break;
-				case '>':
-					sb.append("&gt;");
-					break;
-				case '&':
-					sb.append("&amp;");
-					break;
-				case '"':
-					sb.append("&#034;");
-					break;
-				case '\'':
-					sb.append("&#039;");
-					break;
-				case '(':
-					sb.append("&#040;");
-					break;
-				case ')':
-					sb.append("&#041;");
-					break;
-				case '#':
-					sb.append("&#035;");
-					break;
-				case '%':
-					sb.append("&#037;");
-					break;
-				case ';':
-					sb.append("&#059;");
-					break;
-				case '+':
-					sb.append("&#043;");
-					break;
-				case '-':
-					sb.append("&#045;");
-					break;
-				default:
-					sb.append(c);
-					break;
+			if (c < HTML_ESCAPES.length && HTML_ESCAPES[c] != null) {
+				return i;
 			}
 		}
-		return sb.toString();
+		return -1;
+	}
+	
+	/**
+	 * Appends given string with escaped characters, the first character to escape is at given index.
+	 * Runs of characters that need not be escaped are appended at once.
+	 */
+	private static void appendEscaped(CharSequence s, int first, Appendable out) throws IOException {
+		int start = 0;
+		int i = first;
+		while (i >= 0) {
+			if (i > start) {
+				out.append(s, start, i);
+			}
+			out.append(HTML_ESCAPES[s.charAt(i)]);
+			start = i + 1;
+			i = indexOfEscaped(s, start);
+		}
+		if (start < s.length()) {
+			out.append(s, start, s.length());
+		}
+	}
+	
+	/** Entities for escaped characters indexed by the character; null for characters that are not escaped. */
+	private static final String[] HTML_ESCAPES = new String[128];
+	static {
+		HTML_ESCAPES['<'] = "&lt;";
+		HTML_ESCAPES['>'] = "&gt;";
+		HTML_ESCAPES['&'] = "&amp;";
+		HTML_ESCAPES['"'] = "&#034;";
+		HTML_ESCAPES['\''] = "&#039;";
+		HTML_ESCAPES['('] = "&#040;";
+		HTML_ESCAPES[')'] = "&#041;";
+		HTML_ESCAPES['#'] = "&#035;";
+		HTML_ESCAPES['%'] = "&#037;";
+		HTML_ESCAPES[';'] = "&#059;";
+		HTML_ESCAPES['+'] = "&#043;";
+		HTML_ESCAPES['-'] = "&#045;";
 	}
 	
 	/**
@@ -109,7 +161,7 @@ public class RenderUtils {
 		if (rootMapping == null) {
 			tr = IdentityMessageTranslator.INSTANCE;
 		} else {
-			tr = new BundleMessageTranslator(element.getParent().getDataClass(), locale, rootMapping.getDataClass());
+			tr = BundleMessageTranslator.getInstance(element.getParent().getDataClass(), locale, rootMapping.getDataClass());
 		}
 		return tr;
 	}
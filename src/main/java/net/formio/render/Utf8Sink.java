@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.render;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Output of rendered markup that encodes characters directly to UTF-8 bytes written 
+ * to an {@link OutputStream} or {@link ByteBuffer}, without intermediate {@link java.io.Writer}
+ * and charset encoder. Static parts of markup can be written as pre-encoded {@link Fragment}s 
+ * that are not encoded again for each response. 
+ * <p>The sink can be passed to all rendering methods accepting {@link Appendable}.
+ * Bytes are buffered, {@link #flush()} or {@link #close()} must be called after 
+ * the rendering.</p>
+ * <p>Not thread-safe.</p>
+ * @author Radek Beran
+ */
+public final class Utf8Sink implements Appendable, Flushable, Closeable {
+	/** Default size of buffer with encoded bytes. */
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+	
+	private final OutputStream outputStream;
+	private final ByteBuffer byteBuffer;
+	private final byte[] buf;
+	private int pos;
+	/** High surrogate from the end of previously appended characters that waits for its low surrogate. */
+	private char highSurrogate;
+	
+	/**
+	 * Creates sink writing to given output stream.
+	 * @param outputStream
+	 * @param bufferSize
+	 */
+	public Utf8Sink(OutputStream outputStream, int bufferSize) {
+		this(outputStream, null, bufferSize);
+	}
+	
+	/**
+	 * Creates sink writing to given output stream.
+	 * @param outputStream
+	 */
+	public Utf8Sink(OutputStream outputStream) {
+		this(outputStream, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * Creates sink writing to given byte buffer. If the byte buffer has not enough
+	 * remaining space, {@link java.nio.BufferOverflowException} is thrown.
+	 * @param byteBuffer
+	 */
+	public Utf8Sink(ByteBuffer byteBuffer) {
+		this(null, byteBuffer, DEFAULT_BUFFER_SIZE);
+	}
+	
+	private Utf8Sink(OutputStream outputStream, ByteBuffer byteBuffer, int bufferSize) {
+		if (outputStream == null && byteBuffer == null) {
+			throw new IllegalArgumentException("output cannot be null");
+		}
+		if (bufferSize < 4) {
+			throw new IllegalArgumentException("bufferSize must be at least 4");
+		}
+		this.outputStream = outputStream;
+		this.byteBuffer = byteBuffer;
+		this.buf = new byte[bufferSize];
+	}
+	
+	/**
+	 * Creates pre-encoded static fragment of markup.
+	 * @param text
+	 * @return
+	 */
+	public static Fragment fragment(String text) {
+		return new Fragment(text);
+	}
+	
+	/**
+	 * Appends given static fragment to the output. Fragment is written as pre-encoded bytes
+	 * if the output is a {@link Utf8Sink}. 
+	 * @param out
+	 * @param fragment
+	 * @throws IOException
+	 */
+	public static void append(Appendable out, Fragment fragment) throws IOException {
+		if (out instanceof Utf8Sink) {
+			((Utf8Sink)out).write(fragment);
+		} else {
+			out.append(fragment.getText());
+		}
+	}
+	
+	/**
+	 * Writes pre-encoded fragment.
+	 * @param fragment
+	 * @return this sink
+	 * @throws IOException
+	 */
+	public Utf8Sink write(Fragment fragment) throws IOException {
+		return write(fragment.bytes, 0, fragment.bytes.length);
+	}
+	
+	/**
+	 * Writes bytes of already UTF-8 encoded text.
+	 * @param bytes
+	 * @param offset
+	 * @param length
+	 * @return this sink
+	 * @throws IOException
+	 */
+	public Utf8Sink write(byte[] bytes, int offset, int length) throws IOException {
+		flushHighSurrogate();
+		if (length > buf.length - pos) {
+			flushBuffer();
+			if (length > buf.length) {
+				writeOut(bytes, offset, length);
+				return this;
+			}
+		}
+		System.arraycopy(bytes, offset, buf, pos, length);
+		pos += length;
+		return this;
+	}
+
+	@Override
+	public Utf8Sink append(CharSequence csq) throws IOException {
+		if (csq == null) {
+			return append("null");
+		}
+		return append(csq, 0, csq.length());
+	}
+
+	@Override
+	public Utf8Sink append(CharSequence csq, int start, int end) throws IOException {
+		if (csq == null) {
+			return append("null", start, end);
+		}
+		for (int i = start; i < end; i++) {
+			char c = csq.charAt(i);
+			if (c < 0x80 && highSurrogate == 0) {
+				if (pos == buf.length) {
+					flushBuffer();
+				}
+				buf[pos++] = (byte)c;
+			} else {
+				encode(c);
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public Utf8Sink append(char c) throws IOException {
+		encode(c);
+		return this;
+	}
+	
+	/**
+	 * Writes buffered bytes to the output stream and flushes the output stream.
+	 * Characters from an incomplete surrogate pair are kept in the sink.
+	 * @throws IOException
+	 */
+	@Override
+	public void flush() throws IOException {
+		flushBuffer();
+		if (outputStream != null) {
+			outputStream.flush();
+		}
+	}
+	
+	/**
+	 * Writes all buffered bytes and closes the output stream.
+	 * @throws IOException
+	 */
+	@Override
+	public void close() throws IOException {
+		flushHighSurrogate();
+		flushBuffer();
+		if (outputStream != null) {
+			outputStream.close();
+		}
+	}
+	
+	private void encode(char c) throws IOException {
+		if (buf.length - pos < 4) {
+			flushBuffer();
+		}
+		if (highSurrogate != 0) {
+			char high = highSurrogate;
+			highSurrogate = 0;
+			if (Character.isLowSurrogate(c)) {
+				int cp = Character.toCodePoint(high, c);
+				buf[pos++] = (byte)(0xF0 | (cp >> 18));
+				buf[pos++] = (byte)(0x80 | ((cp >> 12) & 0x3F));
+				buf[pos++] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+				buf[pos++] = (byte)(0x80 | (cp & 0x3F));
+				return;
+			}
+			// unpaired high surrogate is replaced as by String.getBytes
+			buf[pos++] = (byte)'?';
+			if (buf.length - pos < 4) {
+				flushBuffer();
+			}
+		}
+		if (c < 0x80) {
+			buf[pos++] = (byte)c;
+		} else if (c < 0x800) {
+			buf[pos++] = (byte)(0xC0 | (c >> 6));
+			buf[pos++] = (byte)(0x80 | (c & 0x3F));
+		} else if (Character.isHighSurrogate(c)) {
+			highSurrogate = c;
+		} else if (Character.isLowSurrogate(c)) {
+			buf[pos++] = (byte)'?';
+		} else {
+			buf[pos++] = (byte)(0xE0 | (c >> 12));
+			buf[pos++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+			buf[pos++] = (byte)(0x80 | (c & 0x3F));
+		}
+	}
+	
+	private void flushHighSurrogate() throws IOException {
+		if (highSurrogate != 0) {
+			highSurrogate = 0;
+			if (pos == buf.length) {
+				flushBuffer();
+			}
+			buf[pos++] = (byte)'?';
+		}
+	}
+	
+	private void flushBuffer() throws IOException {
+		if (pos > 0) {
+			writeOut(buf, 0, pos);
+			pos = 0;
+		}
+	}
+	
+	private void writeOut(byte[] bytes, int offset, int length) throws IOException {
+		if (outputStream != null) {
+			outputStream.write(bytes, offset, length);
+		} else {
+			byteBuffer.put(bytes, offset, length);
+		}
+	}
+	
+	/**
+	 * Static part of markup together with its UTF-8 encoded bytes.
+	 * <p>Thread-safe: Immutable.</p>
+	 */
+	public static final class Fragment {
+		private final String text;
+		private final byte[] bytes;
+		
+		Fragment(String text) {
+			if (text == null) {
+				throw new IllegalArgumentException("text cannot be null");
+			}
+			this.text = text;
+			this.bytes = text.getBytes(StandardCharsets.UTF_8);
+		}
+		
+		public String getText() {
+			return text;
+		}
+		
+		public int getLength() {
+			return bytes.length;
+		}
+		
+		@Override
+		public String toString() {
+			return text;
+		}
+	}
+}
@@ -16,6 +16,7 @@
  */
 package net.formio.render.tdi;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -33,10 +34,13 @@ public class TdiResponseBuilder {
 	
 	private final FormRenderer renderer;
 	private final List<String> instructions;
+	private final String lineSeparator;
 	
 	public TdiResponseBuilder(FormRenderer renderer) {
 		this.renderer = renderer;
 		this.instructions = new ArrayList<String>();
+		// line separator is resolved only once, the renderer's one is used for the whole response
+		this.lineSeparator = renderer != null ? renderer.getLineSeparator() : System.lineSeparator();
 	}
 	
 	public TdiResponseBuilder() {
@@ -117,8 +121,23 @@ public class TdiResponseBuilder {
 		if (element == null) {
 			throw new IllegalArgumentException("inserted element cannot be null");
 		}
-		// Render all element, including element placeholder tag
-		return insert(position, targetElementId, renderElement(element));
+		if (position == null) {
+			throw new IllegalArgumentException("insertion position cannot be null");
+		}
+		if (targetElementId == null || targetElementId.isEmpty()) {
+			throw new IllegalArgumentException("targetElementId must be specified");
+		}
+		// Render all element, including element placeholder tag, directly into the instruction
+		StringBuilder sb = new StringBuilder();
+		try {
+			sb.append(renderInsertBeginTag(position, targetElementId)).append(renderCDataBegin());
+			renderElement(element, sb);
+			sb.append(renderCDataEnd()).append(renderInsertEndTag());
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex); // cannot happen for StringBuilder
+		}
+		instructions.add(sb.toString());
+		return this;
 	}
 	
 	/**
@@ -154,7 +173,17 @@ public class TdiResponseBuilder {
 		if (element == null) {
 			throw new IllegalArgumentException("updated element cannot be null");
 		}
-		return update(AbstractFormElement.getElementPlaceholderId(element.getName(), element.getConfig().getPathSeparator()), renderElementMarkup(element));
+		String elementId = AbstractFormElement.getElementPlaceholderId(element.getName(), element.getConfig().getPathSeparator());
+		StringBuilder sb = new StringBuilder();
+		try {
+			sb.append(renderUpdateBeginTag(elementId)).append(renderCDataBegin());
+			renderElementMarkup(element, sb);
+			sb.append(renderCDataEnd()).append(renderUpdateEndTag());
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex);
+		}
+		instructions.add(sb.toString());
+		return this;
 	}
 	
 	/**
@@ -202,7 +231,7 @@ public class TdiResponseBuilder {
 	 * @return
 	 */
 	public TdiResponseBuilder reload() {
-		instructions.add("<reload></reload>" + newLine());
+		instructions.add(getReload());
 		return this;
 	}
 	
@@ -213,7 +242,7 @@ public class TdiResponseBuilder {
 	 * @return
 	 */
 	public TdiResponseBuilder redirect(String url) {
-		instructions.add("<redirect href=\"" + url + "\"></redirect>" + newLine());
+		instructions.add(getRedirect(url));
 		return this;
 	}
 
@@ -223,24 +252,35 @@ public class TdiResponseBuilder {
 	 */
 	public String asString() {
 		StringBuilder sb = new StringBuilder();
-		sb.append(renderXmlDeclaration()).append(renderResponseBeginTag());
+		try {
+			writeTo(sb);
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex);
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Writes AJAX response to given output (for e.g. {@link java.io.Writer} of HTTP response).
+	 * @param out
+	 * @throws IOException
+	 */
+	public void writeTo(Appendable out) throws IOException {
+		out.append(renderXmlDeclaration()).append(renderResponseBeginTag());
 		boolean statusFound = false;
 		for (String i : instructions) {
-			if (i.contains("<" + getStatusTagName())) {
+			if (isStatus(i)) {
 				statusFound = true;
 				break;
 			}
 		}
-		List<String> completeInstructions = new ArrayList<String>();
 		if (!statusFound) {
-			completeInstructions.add(getStatus("OK"));
+			out.append(getStatus("OK"));
 		}
-		completeInstructions.addAll(instructions);
-		for (String i : completeInstructions) {
-			sb.append(i);
+		for (String i : instructions) {
+			out.append(i);
 		}
-		sb.append(renderResponseEndTag());
-		return sb.toString();
+		out.append(renderResponseEndTag());
 	}
 	
 	protected String renderXmlDeclaration() {
@@ -300,15 +340,45 @@ public class TdiResponseBuilder {
 		return getRenderer().renderElement(element);
 	}
 	
+	protected <T> void renderElementMarkup(FormElement<T> element, Appendable out) throws IOException {
+		if (getRenderer() != null) {
+			getRenderer().renderElementMarkup(element, out);
+		}
+	}
+	
+	protected <T> void renderElement(FormElement<T> element, Appendable out) throws IOException {
+		if (getRenderer() != null) {
+			getRenderer().renderElement(element, out);
+		}
+	}
+	
+	/**
+	 * Returns true if given instruction is status instruction.
+	 * @param instruction
+	 * @return
+	 */
+	boolean isStatus(String instruction) {
+		// instruction begins with the tag, there is no need to search the whole (possibly long) instruction
+		return instruction.startsWith("<" + getStatusTagName() + ">");
+	}
+	
+	String getReload() {
+		return "<reload></reload>" + newLine();
+	}
+	
+	String getRedirect(String url) {
+		return "<redirect href=\"" + url + "\"></redirect>" + newLine();
+	}
+	
 	private String newLine() {
-		return System.getProperty("line.separator");
+		return lineSeparator;
 	}
 	
-	private String getStatus(String statusText) {
+	String getStatus(String statusText) {
 		return "<" + getStatusTagName() + ">" + statusText + "</" + getStatusTagName() + ">" + newLine();
 	}
 	
-	private String getScript(String script, String src, String id) {
+	String getScript(String script, String src, String id) {
 		StringBuilder sb = new StringBuilder();
 		sb.append("<script");
 		if (src != null && !src.isEmpty()) {
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.render.tdi;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import net.formio.AbstractFormElement;
+import net.formio.FormElement;
+import net.formio.render.FormRenderer;
+import net.formio.render.Utf8Sink;
+
+/**
+ * Writer of TDI response that streams the instructions directly to the output stream 
+ * as UTF-8 bytes (optionally compressed using gzip), without building the instructions 
+ * or the whole response as strings. Rendered form elements are written directly 
+ * into CDATA sections of the instructions, static wrappers of the instructions are 
+ * encoded only once for the response.
+ * <p>Markup of the response is the same as the markup from {@link TdiResponseBuilder}.
+ * Status instruction, if any, must be written before other instructions; 
+ * if the first instruction is not a status, status OK is written automatically.</p>
+ * <p>Not thread-safe.</p>
+ * @author Radek Beran
+ */
+public class TdiResponseWriter implements Closeable {
+	/** Size of buffer with characters that are not yet encoded to the output stream. */
+	static final int BUFFER_SIZE = 8192;
+	
+	private final TdiResponseBuilder markup;
+	private final Utf8Sink out;
+	// Static parts of instructions encoded once for the whole response
+	private final Utf8Sink.Fragment cdataBegin;
+	private final Utf8Sink.Fragment cdataEnd;
+	private final Utf8Sink.Fragment updateEndTag;
+	private final Utf8Sink.Fragment insertEndTag;
+	private boolean started;
+	private boolean closed;
+	
+	/**
+	 * Creates writer of TDI response.
+	 * @param markup builder that renders the markup of instructions and form elements
+	 * @param outputStream
+	 * @param gzip true if the response should be compressed using gzip
+	 * @throws IOException
+	 */
+	public TdiResponseWriter(TdiResponseBuilder markup, OutputStream outputStream, boolean gzip) throws IOException {
+		if (markup == null) {
+			throw new IllegalArgumentException("markup cannot be null");
+		}
+		if (outputStream == null) {
+			throw new IllegalArgumentException("outputStream cannot be null");
+		}
+		this.markup = markup;
+		OutputStream stream = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : outputStream;
+		this.out = new Utf8Sink(stream, BUFFER_SIZE);
+		this.cdataBegin = Utf8Sink.fragment(markup.renderCDataBegin());
+		this.cdataEnd = Utf8Sink.fragment(markup.renderCDataEnd());
+		this.updateEndTag = Utf8Sink.fragment(markup.renderUpdateEndTag());
+		this.insertEndTag = Utf8Sink.fragment(markup.renderInsertEndTag());
+	}
+	
+	/**
+	 * Creates writer of TDI response.
+	 * @param renderer renderer of form elements
+	 * @param outputStream
+	 * @param gzip true if the response should be compressed using gzip
+	 * @throws IOException
+	 */
+	public TdiResponseWriter(FormRenderer renderer, OutputStream outputStream, boolean gzip) throws IOException {
+		this(new TdiResponseBuilder(renderer), outputStream, gzip);
+	}
+	
+	/**
+	 * Writes instruction: Status. Must be the first written instruction.
+	 * @param status
+	 * @return
+	 * @throws IOException
+	 */
+	public TdiResponseWriter status(String status) throws IOException {
+		if (started) {
+			throw new IllegalStateException("status must be written before other instructions");
+		}
+		begin(true);
+		out.append(markup.getStatus(status));
+		return this;
+	}
+	
+	/**
+	 * Writes instruction: Script.
+	 * @param script inline Javascript code - it is invoked in the window scope
+	 * @param src URL of the external Javascript
+	 * @param id ID of the script
+	 * @return
+	 * @throws IOException
+	 */
+	public TdiResponseWriter script(String script, String src, String id) throws IOException {
+		begin(false);
+		out.append(markup.getScript(script, src, id));
+		return this;
+	}
+	
+	/**
+	 * Writes instruction: Script.
+	 * @param script inline Javascript code - it is invoked in the window scope
+	 * @return
+	 * @throws IOException
+	 */
+	public TdiResponseWriter script(String script) throws IOException {
+		return script(script, null, null);
+	}
+	
+	/**
+	 * Writes instruction: Insertion of form element in given position (before/after)
+	 * given target element id. Element is rendered directly to the output.
+	 * @param position
+	 * @param targetElementId
+	 * @param element
+	 * @return
+	 * @throws IOException
+	 */
+	public <T> TdiResponseWriter insert(InsertionPosition position, String targetElementId, FormElement<T> element) throws IOException {
+		if (element == null) {
+			throw new IllegalArgumentException("inserted element cannot be null");
+		}
+		if (targetElementId == null || targetElementId.isEmpty()) {
+			throw new IllegalArgumentException("targetElementId must be specified");
+		}
+		begin(false);
+		out.append(markup.renderInsertBeginTag(position, targetElementId));
+		out.write(cdataBegin);
+		markup.renderElement(element, out);
+		out.write(cdataEnd);
+		out.write(insertEndTag);
+		return this;
+	}
+	
+	/**
+	 * Writes instruction: Update of form element. Element is rendered directly to the output.
+	 * @param element
+	 * @return
+	 * @throws IOException
+	 */
+	public <T> TdiResponseWriter update(FormElement<T> element) throws IOException {
+		if (element == null) {
+			throw new IllegalArgumentException("updated element cannot be null");
+		}
+		String elementId = AbstractFormElement.getElementPlaceholderId(element.getName(), element.getConfig().getPathSeparator());
+		begin(false);
+		out.append(markup.renderUpdateBeginTag(elementId));
+		out.write(cdataBegin);
+		markup.renderElementMarkup(element, out);
+		out.write(cdataEnd);
+		out.write(updateEndTag);
+		return this;
+	}
+	
+	/**
+	 * Writes instruction: Update of element with given markup.
+	 * @param elementId
+	 * @param elementMarkup
+	 * @return
+	 * @throws IOException
+	 */
+	public TdiResponseWriter update(String elementId, String elementMarkup) throws IOException {
+		begin(false);
+		out.append(markup.renderUpdateBeginTag(elementId));
+		out.write(cdataBegin);
+		out.append(elementMarkup);
+		out.write(cdataEnd);
+		out.write(updateEndTag);
+		return this;
+	}
+	
+	/**
+	 * Writes reload page instruction. This instruction should be the last in the response.
+	 * @return
+	 * @throws IOException
+	 */
+	public TdiResponseWriter reload() throws IOException {
+		begin(false);
+		out.append(markup.getReload());
+		return this;
+	}
+	
+	/**
+	 * Writes redirect instruction. This instruction should be the last in the response.
+	 * @param url
+	 * @return
+	 * @throws IOException
+	 */
+	public TdiResponseWriter redirect(String url) throws IOException {
+		begin(false);
+		out.append(markup.getRedirect(url));
+		return this;
+	}
+	
+	/**
+	 * Writes all instructions already built by given builder. Status instruction
+	 * of the builder, if any, is written before the other instructions.
+	 * @param builder
+	 * @return
+	 * @throws IOException
+	 */
+	public TdiResponseWriter write(TdiResponseBuilder builder) throws IOException {
+		if (builder == null) {
+			throw new IllegalArgumentException("builder cannot be null");
+		}
+		// status is written first regardless of its position in the builder, as in TdiResponseBuilder.writeTo
+		String status = null;
+		for (String instruction : builder.getInstructions()) {
+			if (builder.isStatus(instruction)) {
+				status = instruction;
+				break;
+			}
+		}
+		if (status != null) {
+			if (started) {
+				throw new IllegalStateException("status must be written before other instructions");
+			}
+			begin(true);
+			out.append(status);
+		}
+		boolean statusWritten = false;
+		for (String instruction : builder.getInstructions()) {
+			if (!statusWritten && instruction == status) {
+				statusWritten = true;
+				continue;
+			}
+			begin(false);
+			out.append(instruction);
+		}
+		return this;
+	}
+	
+	/**
+	 * Finishes the response (writes the end of response, finishes gzip compression) 
+	 * and closes the underlying output stream.
+	 * @throws IOException
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		begin(false);
+		closed = true;
+		out.append(markup.renderResponseEndTag());
+		out.close(); // flushes and finishes gzip stream
+	}
+	
+	private void begin(boolean status) throws IOException {
+		if (closed) {
+			throw new IllegalStateException("response writer is already closed");
+		}
+		if (!started) {
+			started = true;
+			out.append(markup.renderXmlDeclaration());
+			out.append(markup.renderResponseBeginTag());
+			if (!status) {
+				out.append(markup.getStatus("OK"));
+			}
+		}
+	}
+}
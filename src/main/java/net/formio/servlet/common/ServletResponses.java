@@ -16,17 +16,26 @@
  */
 package net.formio.servlet.common;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.util.Locale;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import net.formio.ContentTypes;
+import net.formio.FormElement;
 import net.formio.RequestParams;
 import net.formio.ajax.AjaxResponse;
 import net.formio.ajax.action.AjaxAction;
 import net.formio.ajax.error.AjaxAlertErrorHandler;
 import net.formio.ajax.error.AjaxErrorHandler;
+import net.formio.render.FormRenderer;
+import net.formio.render.Utf8Sink;
+import net.formio.render.tdi.TdiResponseBuilder;
+import net.formio.render.tdi.TdiResponseWriter;
 
 /**
  * Convenience methods for handling (AJAX or non-AJAX) responses in servlet API.
@@ -74,6 +83,161 @@ public final class ServletResponses {
 		write(response, content, ContentTypes.XML);
 	}
 
+	/**
+	 * Writes AJAX response built by given builder directly to the writer of {@link HttpServletResponse}, 
+	 * without creating the whole response as a string. Response is closed, further response writing is not possible.
+	 * @param response
+	 * @param responseBuilder
+	 */
+	public static void ajaxResponse(final HttpServletResponse response, TdiResponseBuilder responseBuilder) {
+		response.setContentType(ContentTypes.XML);
+		PrintWriter writer = null;
+		try {
+			writer = response.getWriter();
+			responseBuilder.writeTo(writer);
+		} catch (IOException ex) {
+			throw new RuntimeException(ex.getMessage(), ex);
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+	}
+	
+	/**
+	 * Writes AJAX response built by given builder directly to the output stream of {@link HttpServletResponse}
+	 * as UTF-8 bytes, optionally compressed using gzip (see {@link #acceptsGzip(HttpServletRequest)}). 
+	 * Response is closed, further response writing is not possible.
+	 * @param response
+	 * @param responseBuilder
+	 * @param gzip true if the response should be compressed using gzip
+	 */
+	public static void ajaxResponse(final HttpServletResponse response, TdiResponseBuilder responseBuilder, boolean gzip) {
+		TdiResponseWriter writer = null;
+		RuntimeException failure = null;
+		try {
+			writer = new TdiResponseWriter(responseBuilder, ajaxOutputStream(response, gzip), gzip);
+			writer.write(responseBuilder);
+		} catch (IOException ex) {
+			failure = new RuntimeException(ex.getMessage(), ex);
+			throw failure;
+		} catch (RuntimeException ex) {
+			failure = ex;
+			throw ex;
+		} finally {
+			close(writer, failure);
+		}
+	}
+	
+	/**
+	 * Returns writer that streams AJAX response directly to the output stream of {@link HttpServletResponse}
+	 * as UTF-8 bytes, optionally compressed using gzip. The writer must be closed after all instructions 
+	 * are written.
+	 * @param response
+	 * @param renderer renderer of form elements written to the response
+	 * @param gzip true if the response should be compressed using gzip
+	 * @return
+	 * @throws IOException
+	 */
+	public static TdiResponseWriter ajaxResponseWriter(final HttpServletResponse response, FormRenderer renderer, boolean gzip) throws IOException {
+		return new TdiResponseWriter(renderer, ajaxOutputStream(response, gzip), gzip);
+	}
+	
+	/**
+	 * Returns true if the client accepts gzip-compressed response.
+	 * @param request
+	 * @return
+	 */
+	public static boolean acceptsGzip(HttpServletRequest request) {
+		return acceptsGzip(request.getHeader("Accept-Encoding"));
+	}
+	
+	/**
+	 * Returns true if given value of Accept-Encoding header accepts gzip coding: gzip (or x-gzip) 
+	 * or * coding is listed with nonzero quality value, the quality value of gzip takes precedence.
+	 * @param acceptEncoding
+	 * @return
+	 */
+	static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		float gzipQuality = -1;
+		float anyQuality = -1;
+		for (String coding : acceptEncoding.split(",")) {
+			String[] parts = coding.split(";");
+			String name = parts[0].trim().toLowerCase(Locale.ROOT);
+			float quality = 1;
+			for (int i = 1; i < parts.length; i++) {
+				String param = parts[i].trim().toLowerCase(Locale.ROOT);
+				if (param.startsWith("q=")) {
+					try {
+						quality = Float.parseFloat(param.substring(2).trim());
+					} catch (NumberFormatException ex) {
+						quality = 0; // invalid quality value, the coding is not considered as accepted
+					}
+				}
+			}
+			if ("gzip".equals(name) || "x-gzip".equals(name)) {
+				gzipQuality = Math.max(gzipQuality, quality);
+			} else if ("*".equals(name)) {
+				anyQuality = Math.max(anyQuality, quality);
+			}
+		}
+		return gzipQuality >= 0 ? gzipQuality > 0 : anyQuality > 0;
+	}
+	
+	/**
+	 * Renders given form element directly to the output stream of {@link HttpServletResponse} as HTML 
+	 * encoded in UTF-8. Response is closed for further writing.
+	 * @param response
+	 * @param renderer
+	 * @param element
+	 */
+	public static <T> void writeHtml(final HttpServletResponse response, FormRenderer renderer, FormElement<T> element) {
+		response.setContentType(ContentTypes.HTML);
+		Utf8Sink writer = null;
+		RuntimeException failure = null;
+		try {
+			writer = new Utf8Sink(response.getOutputStream());
+			renderer.renderElement(element, writer);
+		} catch (IOException ex) {
+			failure = new RuntimeException(ex.getMessage(), ex);
+			throw failure;
+		} catch (RuntimeException ex) {
+			failure = ex;
+			throw ex;
+		} finally {
+			close(writer, failure);
+		}
+	}
+	
+	/**
+	 * Closes given writer of the response. If writing of the response already failed,
+	 * exception thrown when closing is added as suppressed to the original failure
+	 * so the original failure is not hidden.
+	 * @param writer
+	 * @param failure
+	 */
+	private static void close(Closeable writer, RuntimeException failure) {
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.close();
+		} catch (IOException ex) {
+			if (failure == null) {
+				throw new RuntimeException(ex.getMessage(), ex);
+			}
+			failure.addSuppressed(ex);
+		} catch (RuntimeException ex) {
+			if (failure == null) {
+				throw ex;
+			}
+			failure.addSuppressed(ex);
+		}
+	}
+
 	/**
 	 * Renders AJAX response by applying given action and rendering obtained AJAX response.
 	 * If given action is {@code null}, HTTP 404 status is returned.
@@ -124,6 +288,15 @@ public final class ServletResponses {
 		notFound(res, "Not Found");
 	}
 	
+	private static OutputStream ajaxOutputStream(final HttpServletResponse response, boolean gzip) throws IOException {
+		response.setContentType(ContentTypes.XML);
+		if (gzip) {
+			response.setHeader("Content-Encoding", "gzip");
+			response.addHeader("Vary", "Accept-Encoding");
+		}
+		return response.getOutputStream();
+	}
+	
 	private ServletResponses() {
 	}
 }
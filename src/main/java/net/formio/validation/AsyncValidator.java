@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.validation;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Validator of form element which can validate the value asynchronously
+ * (for e.g. checks of uniqueness against a database or remote service).
+ * Asynchronous validators of one form are run concurrently if the validation
+ * executor is configured (see {@link net.formio.Config#getValidationExecutor()}).
+ * @author Radek Beran
+ *
+ * @param <T>
+ */
+public interface AsyncValidator<T> extends Validator<T> {
+	
+	/** Message key of warning that is reported when the validation does not complete within the timeout. */
+	String TIMEOUT_MESSAGE = "{validation.timeout.message}";
+	
+	/**
+	 * Starts validation of form element's value and returns future result with validation messages.
+	 * @param ctx
+	 * @param executor executor that can be used to run the validation
+	 * @return future list of validation messages
+	 */
+	<U extends T> CompletableFuture<List<InterpolatedMessage>> validateAsync(ValidationContext<U> ctx, Executor executor);
+	
+	/**
+	 * Maximum time in milliseconds for the validation. When this time elapses, 
+	 * the validation is abandoned and warning with {@link #TIMEOUT_MESSAGE} is reported instead 
+	 * of its messages. Zero or negative value means no timeout. The timeout is applied also 
+	 * when no validation executor is configured; in that case validator with timeout is given 
+	 * the default asynchronous executor of {@link CompletableFuture} (common pool), so blocking 
+	 * work must be run on the executor passed to {@link #validateAsync(ValidationContext, Executor)} 
+	 * to be limited by the timeout. Abandoned validation is not interrupted.
+	 * @return timeout in milliseconds
+	 */
+	long getTimeoutMillis();
+}
@@ -32,6 +32,14 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.MessageInterpolator;
@@ -57,23 +65,46 @@ import net.formio.upload.MaxRequestSizeExceededError;
  */
 public class DefaultBeanValidator implements BeanValidator {
 	
-	private final ValidatorFactory validatorFactory;
+	/** Provides validator factory when it is needed for the first time. */
+	private final Supplier<ValidatorFactory> validatorFactorySupplier;
 	private final BeanExtractor beanExtractor;
 	private final String messageBundleName;
+	/** Cached answers whether given class is constrained by some bean validation annotations. */
+	private final ConcurrentMap<Class<?>, Boolean> constrainedClasses;
+	/** Count of bean validations skipped because the validated class is not constrained. */
+	private final AtomicLong skippedValidationsCount;
 	
-	public DefaultBeanValidator(ValidatorFactory validatorFactory, BeanExtractor beanExtractor, String messageBundleName) {
-		if (validatorFactory == null) throw new IllegalArgumentException("validatorFactory cannot be null");
+	private DefaultBeanValidator(Supplier<ValidatorFactory> validatorFactorySupplier, BeanExtractor beanExtractor, String messageBundleName) {
+		if (validatorFactorySupplier == null) throw new IllegalArgumentException("validatorFactorySupplier cannot be null");
 		if (beanExtractor == null) throw new IllegalArgumentException("beanExtractor cannot be null");
 		if (messageBundleName == null || messageBundleName.isEmpty()) throw new IllegalArgumentException("messageBundleName cannot be null or empty");
-		this.validatorFactory = validatorFactory;
+		this.validatorFactorySupplier = validatorFactorySupplier;
 		this.beanExtractor = beanExtractor;
 		this.messageBundleName = messageBundleName;
+		this.constrainedClasses = new ConcurrentHashMap<Class<?>, Boolean>();
+		this.skippedValidationsCount = new AtomicLong();
+	}
+	
+	public DefaultBeanValidator(final ValidatorFactory validatorFactory, BeanExtractor beanExtractor, String messageBundleName) {
+		this(factorySupplier(validatorFactory), beanExtractor, messageBundleName);
 	}
 	
 	public DefaultBeanValidator(ValidatorFactory validatorFactory, BeanExtractor beanExtractor) {
 		this(validatorFactory, beanExtractor, ResBundleMessageInterpolator.DEFAULT_VALIDATION_MESSAGES);
 	}
 	
+	/**
+	 * Creates bean validator with validator factory that is obtained from given supplier 
+	 * not sooner than it is needed for the first validation. 
+	 * @param validatorFactorySupplier
+	 * @param beanExtractor
+	 * @param messageBundleName
+	 * @return bean validator
+	 */
+	public static DefaultBeanValidator withLazyValidatorFactory(Supplier<ValidatorFactory> validatorFactorySupplier, BeanExtractor beanExtractor, String messageBundleName) {
+		return new DefaultBeanValidator(validatorFactorySupplier, beanExtractor, messageBundleName);
+	}
+	
 	@Override
 	public <T> ValidationResult validate(
 		T mappingBoundValue,
@@ -85,14 +116,22 @@ public class DefaultBeanValidator implements BeanValidator {
 		if (mappingBoundValue == null) {
 			throw new IllegalArgumentException("Validated object cannot be null");
 		}
-		MessageInterpolator msgInterpolator = createMessageInterpolator(this.validatorFactory, this.messageBundleName, locale);
-		Validator beanValidator = createValidator(this.validatorFactory, msgInterpolator);
+		final ValidatorFactory validatorFactory = getValidatorFactory();
+		MessageInterpolator msgInterpolator = createMessageInterpolator(validatorFactory, this.messageBundleName, locale);
 		
-		// Unfortunately, implementation of bean validation API can return violations 
-		// in nondeterministic order as a HashSet (Hibernate validator)
-		final Set<ConstraintViolation<T>> violations = beanValidator.validate(mappingBoundValue, groups);
-		final List<ConstraintViolation<T>> violationsList = new ArrayList<ConstraintViolation<T>>(violations);
-		Collections.sort(violationsList, constraintViolationComparator);
+		final List<ConstraintViolation<T>> violationsList;
+		if (isBeanConstrained(mappingBoundValue.getClass())) {
+			Validator beanValidator = createValidator(validatorFactory, msgInterpolator);
+			// Unfortunately, implementation of bean validation API can return violations 
+			// in nondeterministic order as a HashSet (Hibernate validator)
+			final Set<ConstraintViolation<T>> violations = beanValidator.validate(mappingBoundValue, groups);
+			violationsList = new ArrayList<ConstraintViolation<T>>(violations);
+			Collections.sort(violationsList, constraintViolationComparator);
+		} else {
+			// no constraints (nor cascaded properties) are declared for the class, only custom validators are run
+			violationsList = Collections.<ConstraintViolation<T>>emptyList();
+			this.skippedValidationsCount.incrementAndGet();
+		}
 		
 		List<InterpolatedMessage> allCustomMessages = new ArrayList<InterpolatedMessage>();
 		allCustomMessages.addAll(customMessages);
@@ -101,7 +140,9 @@ public class DefaultBeanValidator implements BeanValidator {
 		if (mapping != null && !(mapping instanceof BasicListFormMapping<?>) && mapping.isVisible() && mapping.isEnabled()) {
 			pathSep = mapping.getConfig().getPathSeparator();
 			
-			// Validate all nested elements
+			// Validate all nested elements, concurrently if the validation executor is configured
+			final Executor executor = mapping.getConfig().getValidationExecutor();
+			List<CompletableFuture<List<InterpolatedMessage>>> pendingMessages = null;
 			Map<String, Object> beanProperties = null;
 			for (FormElement<?> el : mapping.getElements()) {
 				if (el.getValidators() != null && !el.getValidators().isEmpty()) { // to avoid unnecessary visible/enabled checks
@@ -110,14 +151,27 @@ public class DefaultBeanValidator implements BeanValidator {
 							beanProperties = beanExtractor.extractBean(mappingBoundValue, gatherPropertyNames(mapping.getElements()));
 						}
 						Object elementValue = beanProperties.get(el.getPropertyName());
-						allCustomMessages.addAll(validateFormElement((FormElement<Object>)el, elementValue));
+						if (executor != null) {
+							if (pendingMessages == null) {
+								pendingMessages = new ArrayList<CompletableFuture<List<InterpolatedMessage>>>();
+							}
+							pendingMessages.addAll(startFormElementValidation((FormElement<Object>)el, elementValue, executor));
+						} else {
+							allCustomMessages.addAll(validateFormElement((FormElement<Object>)el, elementValue));
+						}
 					}
 				}
 			}
+			if (pendingMessages != null) {
+				// messages are collected in the order of elements and their validators, regardless of completion order
+				for (CompletableFuture<List<InterpolatedMessage>> msgs : pendingMessages) {
+					allCustomMessages.addAll(joinMessages(msgs));
+				}
+			}
 			if (mapping.isRootMapping()) {
 				// validate also the root mapping (run global validators added to the root mapping itself) 
 				for (net.formio.validation.Validator<T> validator : mapping.getValidators()) {
-					allCustomMessages.addAll(validator.validate(
+					allCustomMessages.addAll(validateInCallingThread(validator, 
 						new ValidationContext<T>(mapping.getName(), mappingBoundValue)));
 				}
 			}
@@ -125,6 +179,9 @@ public class DefaultBeanValidator implements BeanValidator {
 			pathSep = Config.DEFAULT_PATH_SEP;
 		}
 		
+		if (violationsList.isEmpty() && allCustomMessages.isEmpty()) {
+			return ValidationResult.empty;
+		}
 		return buildReport(msgInterpolator, violationsList, allCustomMessages, propPrefix, pathSep, locale);
 	}
 
@@ -147,6 +204,60 @@ public class DefaultBeanValidator implements BeanValidator {
 		return this.validate(inst, Locale.getDefault(), groups);
 	}
 	
+	/**
+	 * Returns count of bean validations that were skipped because the validated
+	 * class does not declare any constraints (only custom validators were run).
+	 * @return
+	 */
+	public long getSkippedValidationsCount() {
+		return this.skippedValidationsCount.get();
+	}
+	
+	/**
+	 * Resolves (and caches) bean validation metadata of given class in advance, 
+	 * so the first validation of its instance does not pay for it.
+	 * @param cls validated class
+	 */
+	public void warmUp(Class<?> cls) {
+		if (cls == null) throw new IllegalArgumentException("cls cannot be null");
+		isBeanConstrained(cls);
+	}
+	
+	/**
+	 * Returns true if given class is constrained by bean validation API metadata
+	 * (has some constraints or cascaded properties). The answer is cached for each class.
+	 * @param cls validated class
+	 * @return
+	 */
+	protected boolean isBeanConstrained(Class<?> cls) {
+		Boolean constrained = this.constrainedClasses.get(cls);
+		if (constrained == null) {
+			constrained = Boolean.valueOf(getValidatorFactory().getValidator().getConstraintsForClass(cls).isBeanConstrained());
+			this.constrainedClasses.putIfAbsent(cls, constrained);
+		}
+		return constrained.booleanValue();
+	}
+	
+	/**
+	 * Returns validator factory used for validation.
+	 * @return
+	 */
+	protected ValidatorFactory getValidatorFactory() {
+		ValidatorFactory factory = this.validatorFactorySupplier.get();
+		if (factory == null) throw new IllegalStateException("validatorFactory cannot be null");
+		return factory;
+	}
+	
+	private static Supplier<ValidatorFactory> factorySupplier(final ValidatorFactory validatorFactory) {
+		if (validatorFactory == null) throw new IllegalArgumentException("validatorFactory cannot be null");
+		return new Supplier<ValidatorFactory>() {
+			@Override
+			public ValidatorFactory get() {
+				return validatorFactory;
+			}
+		};
+	}
+	
 	/**
 	 * Returns message interpolator used in validation.
 	 * Can be overriden in subclasses.
@@ -214,11 +325,76 @@ public class DefaultBeanValidator implements BeanValidator {
 	private <T, U> List<InterpolatedMessage> validateFormElement(FormElement<T> element, T elementValue) {
 		List<InterpolatedMessage> messages = new ArrayList<InterpolatedMessage>();
 		for (net.formio.validation.Validator<T> validator : element.getValidators()) {
-			messages.addAll(validator.validate(new ValidationContext<T>(element.getName(), elementValue)));
+			messages.addAll(validateInCallingThread(validator, new ValidationContext<T>(element.getName(), elementValue)));
 		}
 		return messages;
 	}
 	
+	/**
+	 * Runs the validator without validation executor. Asynchronous validator with timeout 
+	 * is started on the default asynchronous executor of {@link CompletableFuture}, so the calling 
+	 * thread waits for the validation at most for the timeout (also when the validation blocks). 
+	 */
+	private <T> List<InterpolatedMessage> validateInCallingThread(net.formio.validation.Validator<T> validator, ValidationContext<T> ctx) {
+		if (validator instanceof AsyncValidator<?> && ((AsyncValidator<T>)validator).getTimeoutMillis() > 0) {
+			AsyncValidator<T> asyncValidator = (AsyncValidator<T>)validator;
+			return joinMessages(withTimeout(asyncValidator.validateAsync(ctx, DEFAULT_ASYNC), asyncValidator, ctx.getElementName()));
+		}
+		return validator.validate(ctx);
+	}
+	
+	private <T> List<CompletableFuture<List<InterpolatedMessage>>> startFormElementValidation(FormElement<T> element, T elementValue, Executor executor) {
+		List<CompletableFuture<List<InterpolatedMessage>>> futures = new ArrayList<CompletableFuture<List<InterpolatedMessage>>>();
+		for (final net.formio.validation.Validator<T> validator : element.getValidators()) {
+			final ValidationContext<T> ctx = new ValidationContext<T>(element.getName(), elementValue);
+			CompletableFuture<List<InterpolatedMessage>> future = null;
+			if (validator instanceof AsyncValidator<?>) {
+				AsyncValidator<T> asyncValidator = (AsyncValidator<T>)validator;
+				future = withTimeout(asyncValidator.validateAsync(ctx, executor), asyncValidator, element.getName());
+			} else {
+				future = CompletableFuture.supplyAsync(new Supplier<List<InterpolatedMessage>>() {
+					@Override
+					public List<InterpolatedMessage> get() {
+						return validator.validate(ctx);
+					}
+				}, executor);
+			}
+			futures.add(future);
+		}
+		return futures;
+	}
+	
+	private <T> CompletableFuture<List<InterpolatedMessage>> withTimeout(CompletableFuture<List<InterpolatedMessage>> future, AsyncValidator<T> validator, String elementName) {
+		final long timeout = validator.getTimeoutMillis();
+		if (timeout <= 0) {
+			return future;
+		}
+		// copy so the future possibly shared by the validator is not completed by us
+		return future.copy().completeOnTimeout(timeoutMessages(elementName, timeout), timeout, TimeUnit.MILLISECONDS);
+	}
+	
+	private List<InterpolatedMessage> timeoutMessages(String elementName, long timeoutMillis) {
+		Map<String, Serializable> params = new LinkedHashMap<String, Serializable>();
+		params.put("timeoutMillis", Long.valueOf(timeoutMillis));
+		return Collections.<InterpolatedMessage>singletonList(
+			new DefaultInterpolatedMessage(elementName, Severity.WARNING, AsyncValidator.TIMEOUT_MESSAGE, params));
+	}
+	
+	private List<InterpolatedMessage> joinMessages(CompletableFuture<List<InterpolatedMessage>> future) {
+		try {
+			List<InterpolatedMessage> msgs = future.join();
+			return msgs != null ? msgs : Collections.<InterpolatedMessage>emptyList();
+		} catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)ex.getCause();
+			}
+			if (ex.getCause() instanceof Error) {
+				throw (Error)ex.getCause();
+			}
+			throw ex;
+		}
+	}
+	
 	private ConstraintViolationMessage createConstraintViolationMessage(
 		InterpolatedMessage message, MessageInterpolator msgInterpolator, Locale locale) {
 		return new ConstraintViolationMessage(message.getSeverity(), 
@@ -323,4 +499,12 @@ public class DefaultBeanValidator implements BeanValidator {
 	}
 	
 	private static final ConstraintViolationComparator constraintViolationComparator = new ConstraintViolationComparator();
+	
+	/** Default asynchronous executor of {@link CompletableFuture} (common pool, or thread per task if the pool has no parallelism). */
+	private static final Executor DEFAULT_ASYNC = new Executor() {
+		@Override
+		public void execute(Runnable command) {
+			CompletableFuture.runAsync(command);
+		}
+	};
 }
@@ -23,15 +23,23 @@
  */
 package net.formio.validation;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Report after validating an object. Immutable.
+ * Results merged using {@link #merge(Collection)} share the messages of merged results
+ * by reference, so merging of results from nested mappings does not copy the messages
+ * again on each level of nesting.
  *
  * @author Radek Beran
  */
@@ -48,12 +56,60 @@ public class ValidationResult implements Serializable {
 		if (globalMessages == null) throw new IllegalArgumentException("global messages cannot be null, only empty");
 		Map<String, List<ConstraintViolationMessage>> fieldMsgCopy = new LinkedHashMap<String, List<ConstraintViolationMessage>>();
 		for (Map.Entry<String, List<ConstraintViolationMessage>> entry : fieldMessages.entrySet()) {
-			fieldMsgCopy.put(entry.getKey(), new ArrayList<ConstraintViolationMessage>(entry.getValue()));	
+			fieldMsgCopy.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<ConstraintViolationMessage>(entry.getValue())));	
 		}
 		
 		this.fieldMessages = Collections.unmodifiableMap(fieldMsgCopy);
 		this.globalMessages = Collections.unmodifiableList(new ArrayList<ConstraintViolationMessage>(globalMessages));
 	}
+	
+	/**
+	 * Constructs result from already immutable messages (without copying them).
+	 * @param fieldMessages
+	 * @param globalMessages
+	 */
+	private ValidationResult(MergedFieldMessages fieldMessages, MergedGlobalMessages globalMessages) {
+		this.fieldMessages = fieldMessages;
+		this.globalMessages = globalMessages;
+	}
+	
+	/**
+	 * Returns validation result containing messages of all given results. Field messages of later results
+	 * replace messages for the same field from previous results, global messages are concatenated.
+	 * Messages of given results are shared by the returned result, not copied.
+	 * @param results
+	 * @return merged validation result
+	 */
+	public static ValidationResult merge(Collection<ValidationResult> results) {
+		if (results == null) throw new IllegalArgumentException("results cannot be null");
+		List<Map<String, List<ConstraintViolationMessage>>> fieldMsgParts = new ArrayList<Map<String, List<ConstraintViolationMessage>>>();
+		List<List<ConstraintViolationMessage>> globalMsgParts = new ArrayList<List<ConstraintViolationMessage>>();
+		ValidationResult single = null;
+		int nonEmptyCount = 0;
+		for (ValidationResult res : results) {
+			if (res != null && !res.isEmpty()) {
+				single = res;
+				nonEmptyCount++;
+				if (res.fieldMessages instanceof MergedFieldMessages) {
+					fieldMsgParts.addAll(((MergedFieldMessages)res.fieldMessages).parts);
+				} else if (!res.fieldMessages.isEmpty()) {
+					fieldMsgParts.add(res.fieldMessages);
+				}
+				if (res.globalMessages instanceof MergedGlobalMessages) {
+					globalMsgParts.addAll(((MergedGlobalMessages)res.globalMessages).parts);
+				} else if (!res.globalMessages.isEmpty()) {
+					globalMsgParts.add(res.globalMessages);
+				}
+			}
+		}
+		if (nonEmptyCount == 0) {
+			return empty;
+		}
+		if (nonEmptyCount == 1) {
+			return single;
+		}
+		return new ValidationResult(new MergedFieldMessages(fieldMsgParts), new MergedGlobalMessages(globalMsgParts));
+	}
 
 	/**
 	 * Validation was successful, without validation errors (warnings and infos can be present).
@@ -148,10 +204,117 @@ public class ValidationResult implements Serializable {
 		return sb.toString();
 	}
 	
+	/**
+	 * Merged result is serialized in the form of plain result with copied messages.
+	 * @return
+	 * @throws ObjectStreamException
+	 */
+	private Object writeReplace() throws ObjectStreamException {
+		if (fieldMessages instanceof MergedFieldMessages || globalMessages instanceof MergedGlobalMessages) {
+			return new ValidationResult(fieldMessages, globalMessages);
+		}
+		return this;
+	}
+	
 	private static final ValidationResult newEmptyValidationResult() {
 		return new ValidationResult(
 			Collections.unmodifiableMap(Collections.<String, List<ConstraintViolationMessage>>emptyMap()),
 			Collections.unmodifiableList(Collections.<ConstraintViolationMessage>emptyList())
 		);
 	}
+	
+	/**
+	 * Read-only view of field messages composed from field messages of merged results.
+	 * Field messages from later parts replace messages for the same field from previous parts.
+	 */
+	private static final class MergedFieldMessages extends AbstractMap<String, List<ConstraintViolationMessage>> {
+		/** Up to this count of parts, the parts are searched directly instead of materializing the whole map. */
+		private static final int MAX_SEARCHED_PARTS = 4;
+		
+		final List<Map<String, List<ConstraintViolationMessage>>> parts;
+		private volatile Map<String, List<ConstraintViolationMessage>> materialized;
+		
+		MergedFieldMessages(List<Map<String, List<ConstraintViolationMessage>>> parts) {
+			this.parts = parts;
+		}
+		
+		@Override
+		public List<ConstraintViolationMessage> get(Object key) {
+			if (parts.size() > MAX_SEARCHED_PARTS) {
+				return materialized().get(key);
+			}
+			for (int i = parts.size() - 1; i >= 0; i--) {
+				List<ConstraintViolationMessage> msgs = parts.get(i).get(key);
+				if (msgs != null) {
+					return msgs;
+				}
+			}
+			return null;
+		}
+		
+		@Override
+		public boolean containsKey(Object key) {
+			return get(key) != null;
+		}
+		
+		@Override
+		public boolean isEmpty() {
+			return parts.isEmpty();
+		}
+		
+		@Override
+		public Set<Map.Entry<String, List<ConstraintViolationMessage>>> entrySet() {
+			return materialized().entrySet();
+		}
+		
+		private Map<String, List<ConstraintViolationMessage>> materialized() {
+			Map<String, List<ConstraintViolationMessage>> map = this.materialized;
+			if (map == null) {
+				Map<String, List<ConstraintViolationMessage>> merged = new LinkedHashMap<String, List<ConstraintViolationMessage>>();
+				for (Map<String, List<ConstraintViolationMessage>> part : parts) {
+					merged.putAll(part);
+				}
+				map = Collections.unmodifiableMap(merged);
+				this.materialized = map;
+			}
+			return map;
+		}
+	}
+	
+	/**
+	 * Read-only view of global messages that is a concatenation of global messages of merged results.
+	 */
+	private static final class MergedGlobalMessages extends AbstractList<ConstraintViolationMessage> {
+		final List<List<ConstraintViolationMessage>> parts;
+		private final int size;
+		
+		MergedGlobalMessages(List<List<ConstraintViolationMessage>> parts) {
+			this.parts = parts;
+			int count = 0;
+			for (List<ConstraintViolationMessage> part : parts) {
+				count += part.size();
+			}
+			this.size = count;
+		}
+		
+		@Override
+		public ConstraintViolationMessage get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+			}
+			int i = index;
+			for (List<ConstraintViolationMessage> part : parts) {
+				if (i < part.size()) {
+					return part.get(i);
+				}
+				i -= part.size();
+			}
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		}
+		
+		@Override
+		public int size() {
+			return size;
+		}
+	}
 }
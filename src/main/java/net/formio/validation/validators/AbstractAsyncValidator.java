@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.validation.validators;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import net.formio.validation.AsyncValidator;
+import net.formio.validation.InterpolatedMessage;
+import net.formio.validation.ValidationContext;
+
+/**
+ * Common parent for asynchronous validators.
+ * @author Radek Beran
+ *
+ * @param <T>
+ */
+public abstract class AbstractAsyncValidator<T> extends AbstractValidator<T> implements AsyncValidator<T> {
+	
+	private final long timeoutMillis;
+	
+	/**
+	 * @param timeoutMillis maximum time for validation in milliseconds, zero or negative value means no timeout
+	 */
+	protected AbstractAsyncValidator(long timeoutMillis) {
+		this.timeoutMillis = timeoutMillis;
+	}
+	
+	protected AbstractAsyncValidator() {
+		this(0);
+	}
+	
+	/**
+	 * Validates synchronously in the calling thread.
+	 */
+	@Override
+	public <U extends T> List<InterpolatedMessage> validate(ValidationContext<U> ctx) {
+		try {
+			return validateAsync(ctx, CALLER_RUNS).join();
+		} catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)ex.getCause();
+			}
+			throw ex;
+		}
+	}
+	
+	@Override
+	public long getTimeoutMillis() {
+		return timeoutMillis;
+	}
+	
+	private static final Executor CALLER_RUNS = new Executor() {
+		@Override
+		public void execute(Runnable command) {
+			command.run();
+		}
+	};
+}
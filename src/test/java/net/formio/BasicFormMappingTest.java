@@ -23,10 +23,13 @@ import java.util.List;
 import net.formio.data.TestData;
 import net.formio.data.TestForms;
 import net.formio.domain.Address;
+import net.formio.domain.Car;
 import net.formio.domain.Collegue;
 import net.formio.domain.Engine;
 import net.formio.domain.Person;
+import net.formio.domain.RegDate;
 import net.formio.domain.Registration;
+import net.formio.internal.FormUtils;
 import net.formio.validation.ValidationResult;
 
 import org.junit.Test;
@@ -61,6 +64,49 @@ public class BasicFormMappingTest {
 		assertEquals(Engine.class, TestForms.CAR_FORM.getMapping(Engine.class, "engine").getDataClass());
 	}
 	
+	@Test
+	public void testFilledElementsAreAttachedToFilledParent() {
+		FormMapping<Engine> engineDef = TestForms.CAR_FORM.getMapping(Engine.class, "engine");
+		FormMapping<Car> filledCar = TestForms.CAR_FORM.fill(new FormData<Car>(TestData.newCar(), ValidationResult.empty));
+		FormMapping<Engine> filledEngine = filledCar.getMapping(Engine.class, "engine");
+		assertSame(filledCar, filledEngine.getParent());
+		assertSame(filledCar, filledCar.getFields().get("brand").getParent());
+		assertSame(filledEngine, filledEngine.getFields().get("volume").getParent());
+		assertNotNull(filledEngine.getFields().get("volume").getValue());
+		assertEquals("carForm" + filledCar.getConfig().getPathSeparator() + "engine" + filledCar.getConfig().getPathSeparator() + "volume", 
+			filledEngine.getFields().get("volume").getName());
+		
+		assertSame("Definition should remain unchanged", TestForms.CAR_FORM, engineDef.getParent());
+		assertSame("Definition should remain unchanged", engineDef, engineDef.getFields().get("volume").getParent());
+		assertNull(engineDef.getFields().get("volume").getValue());
+	}
+	
+	@Test
+	public void testFindElementInListMapping() {
+		FormMapping<Registration> filledForm = TestForms.BASIC_REG_FORM.fill(new FormData<Registration>(TestData.newRegistration(), ValidationResult.empty));
+		String sep = filledForm.getConfig().getPathSeparator();
+		String regDateName = "registration" + sep + "collegues[1]" + sep + "regDate";
+		String monthName = regDateName + sep + "month";
+		
+		FormElement<?> month = filledForm.findElement(monthName);
+		assertNotNull(month);
+		assertEquals(monthName, month.getName());
+		assertSame(FormUtils.findElementRecursive(Object.class, monthName, filledForm), month);
+		FormMapping<?> regDate = filledForm.getMapping(Collegue.class, "collegues").getList().get(1).getMapping(RegDate.class, "regDate");
+		assertSame(regDate, month.findElement(regDateName));
+		assertSame(filledForm, regDate.findElement("registration"));
+		assertNull(filledForm.findElement("registration" + sep + "collegues[2]" + sep + "name"));
+	}
+	
+	@Test
+	public void testGetElementsIsComputedOnce() {
+		FormMapping<Registration> form = TestForms.BASIC_REG_FORM;
+		assertSame(form.getElements(), form.getElements());
+		FormMapping<Registration> filledForm = form.fill(new FormData<Registration>(TestData.newRegistration(), ValidationResult.empty));
+		assertSame(filledForm.getElements(), filledForm.getElements());
+		assertEquals(form.getElements().size(), filledForm.getElements().size());
+	}
+	
 	@Test
 	public void testWithOrder() {
 		FormMapping<Person> person = TestForms.PERSON_FORM;
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import net.formio.domain.Collegue;
+import net.formio.domain.inputs.Employer;
+import net.formio.domain.inputs.Profile;
+import net.formio.format.Location;
+import net.formio.inmemory.MapParams;
+import net.formio.validation.ValidationResult;
+
+import org.junit.Test;
+
+public class BasicListFormMappingTest {
+	
+	private static final int ROWS = 60;
+
+	@Test
+	public void testParallelBindEqualsSequentialBind() {
+		MapParams params = new MapParams();
+		for (int i = 0; i < ROWS; i++) {
+			params.put("collegues[" + i + "]-name", "Collegue " + i);
+			params.put("collegues[" + i + "]-email", i % 3 == 0 ? "invalid" + i : "collegue" + i + "@formio.net");
+		}
+		
+		FormData<Collegue> sequential = colleguesForm(Forms.config().build()).bind(params, Location.ENGLISH);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			FormData<Collegue> parallel = colleguesForm(Forms.config().listValidationExecutor(pool).build())
+				.bind(params, Location.ENGLISH);
+			
+			List<Collegue> sequentialData = (List<Collegue>)(Object)sequential.getData();
+			List<Collegue> parallelData = (List<Collegue>)(Object)parallel.getData();
+			assertEquals(ROWS, parallelData.size());
+			for (int i = 0; i < ROWS; i++) {
+				assertEquals(sequentialData.get(i).getName(), parallelData.get(i).getName());
+				assertEquals(sequentialData.get(i).getEmail(), parallelData.get(i).getEmail());
+			}
+			assertResultsEqual(sequential.getValidationResult(), parallel.getValidationResult());
+			assertFalse(parallel.getValidationResult().isSuccess());
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void testParamsAreReadOnlyByCallingThread() {
+		final Thread callingThread = Thread.currentThread();
+		final List<Thread> otherThreads = new CopyOnWriteArrayList<Thread>();
+		MapParams params = new MapParams() {
+			@Override
+			public String[] getParamValues(String paramName) {
+				if (Thread.currentThread() != callingThread) {
+					otherThreads.add(Thread.currentThread());
+				}
+				return super.getParamValues(paramName);
+			}
+		};
+		for (int i = 0; i < ROWS; i++) {
+			params.put("collegues[" + i + "]-name", "Collegue " + i);
+			params.put("collegues[" + i + "]-email", i % 3 == 0 ? "invalid" + i : "collegue" + i + "@formio.net");
+		}
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			FormData<Collegue> parallel = colleguesForm(Forms.config().listValidationExecutor(pool).build())
+				.bind(params, Location.ENGLISH);
+			assertEquals(ROWS, ((List<Collegue>)(Object)parallel.getData()).size());
+			assertFalse(parallel.getValidationResult().isSuccess());
+			assertEquals(new ArrayList<Thread>(), otherThreads);
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	@Test(timeout = 10000)
+	public void testNestedListsDoNotBlockBoundedExecutor() {
+		List<Profile> profiles = new ArrayList<Profile>();
+		for (int i = 0; i < 4; i++) {
+			Profile profile = new Profile();
+			profile.setFirstName("Name " + i);
+			List<Employer> employers = new ArrayList<Employer>();
+			for (int j = 0; j < 3; j++) {
+				Employer employer = new Employer();
+				employer.setName("Employer " + i + "." + j);
+				employers.add(employer);
+			}
+			profile.setEmployers(employers);
+			profiles.add(profile);
+		}
+		FormData<Profile> formData = (FormData<Profile>)(Object)new FormData<List<Profile>>(profiles, ValidationResult.empty);
+		
+		ValidationResult sequential = ((BasicFormMapping<Profile>)profilesForm(Forms.config().build())
+			.fill(formData, Location.ENGLISH)).validate(Locale.ENGLISH);
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			// outer rows occupy all threads of the pool, nested rows must not be queued behind them
+			FormMapping<Profile> filled = profilesForm(Forms.config().listValidationExecutor(pool).build())
+				.fill(formData, Location.ENGLISH);
+			assertEquals(3, filled.getList().get(3).getNested().get("employers").getList().size());
+			assertResultsEqual(sequential, ((BasicFormMapping<Profile>)filled).validate(Locale.ENGLISH));
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void testFilledRowsShareLabelKeysOfDefinition() {
+		List<Collegue> collegues = new ArrayList<Collegue>();
+		for (int i = 0; i < 3; i++) {
+			Collegue collegue = new Collegue();
+			collegue.setName("Collegue " + i);
+			collegues.add(collegue);
+		}
+		FormMapping<Collegue> form = colleguesForm(Forms.config().build());
+		FormMapping<Collegue> filled = form.fill((FormData<Collegue>)(Object)new FormData<List<Collegue>>(collegues, ValidationResult.empty));
+		
+		String labelKey = form.getFields().get("name").getLabelKey();
+		assertEquals("collegues-name", labelKey);
+		for (FormMapping<Collegue> row : filled.getList()) {
+			assertSame(labelKey, row.getFields().get("name").getLabelKey());
+			assertSame(form.getLabelKey(), row.getLabelKey());
+		}
+	}
+	
+	private FormMapping<Profile> profilesForm(Config cfg) {
+		return Forms.basic(Profile.class, "profiles", MappingType.LIST)
+			.field("firstName")
+			.nested(Forms.basic(Employer.class, "employers", MappingType.LIST).fields("name").build(cfg))
+			.build(cfg);
+	}
+	
+	private FormMapping<Collegue> colleguesForm(Config cfg) {
+		return Forms.basic(Collegue.class, "collegues", MappingType.LIST).fields("name", "email").build(cfg);
+	}
+	
+	private void assertResultsEqual(ValidationResult expected, ValidationResult actual) {
+		assertEquals(expected.toString(), actual.toString());
+		assertEquals(
+			new ArrayList<String>(expected.getFieldMessages().keySet()), 
+			new ArrayList<String>(actual.getFieldMessages().keySet()));
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import net.formio.choice.CacheableChoiceProvider;
+import net.formio.data.TestForms;
+import net.formio.domain.inputs.Country;
+import net.formio.domain.inputs.Function;
+import net.formio.domain.inputs.Profile;
+
+import org.junit.Test;
+
+public class ChoiceItemsTest {
+
+	@Test
+	public void testConvertParamsToChoiceItems() {
+		FormField<?> field = TestForms.ALL_FIELDS_FORM.getFields().get("functions");
+		Object[] items = ChoiceItems.convertParamsToChoiceItems(field, new String[] { "400", "999", "200", null });
+		assertArrayEquals(new Object[] { 
+			new Function(Long.valueOf(400), "Manager"), 
+			null, 
+			new Function(Long.valueOf(200), "Student"),
+			null }, items);
+		assertEquals(new Function(Long.valueOf(300), "Sportsman"), ChoiceItems.convertParamsToChoiceItems(field, new String[] { "300" })[0]);
+		assertNull(ChoiceItems.convertParamsToChoiceItems(field, new String[] { "999" })[0]);
+	}
+	
+	@Test
+	public void testIndexOfCacheableChoiceProviderIsShared() {
+		FormField<?> field = TestForms.ALL_FIELDS_FORM.getFields().get("country");
+		Map<String, Object> index = ChoiceItems.getItemsIndex(field);
+		assertSame(index, ChoiceItems.getItemsIndex(field));
+		assertEquals(Country.values().length, index.size());
+		assertSame(Country.CZ, ChoiceItems.convertParamsToChoiceItems(field, new String[] { "CZ" })[0]);
+	}
+	
+	@Test
+	public void testIndexIsReplacedForNewVersionOfItems() {
+		final List<Country> countries = new ArrayList<Country>(Arrays.asList(Country.CZ));
+		final long[] version = new long[] { 1 };
+		CacheableChoiceProvider<Country> provider = new CacheableChoiceProvider<Country>() {
+			@Override
+			public List<? extends Country> getItems() {
+				return countries;
+			}
+
+			@Override
+			public long getVersion() {
+				return version[0];
+			}
+		};
+		FormMapping<Profile> form = Forms.basic(Profile.class, "profile")
+			.field(Forms.<Country>field("country", Field.DROP_DOWN_CHOICE).choices(provider))
+			.build();
+		FormField<?> field = form.getFields().get("country");
+		assertEquals(1, ChoiceItems.getItemsIndex(field).size());
+		int cachedCount = ChoiceItems.cachedIndexesCount();
+		
+		countries.add(Country.SK);
+		version[0] = 2;
+		Map<String, Object> index = ChoiceItems.getItemsIndex(field);
+		assertEquals(2, index.size());
+		assertSame(Country.SK, index.get("SK"));
+		assertEquals("index of the previous version should be replaced", cachedCount, ChoiceItems.cachedIndexesCount());
+	}
+}
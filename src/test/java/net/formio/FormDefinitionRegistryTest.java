@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import net.formio.binding.ConstructorInstantiator;
+import net.formio.domain.Address;
+import net.formio.domain.Car;
+import net.formio.domain.Engine;
+import net.formio.domain.Person;
+
+import org.junit.Test;
+
+public class FormDefinitionRegistryTest {
+
+	@Test
+	public void testDefinitionIsBuiltOnce() {
+		FormDefinitionRegistry registry = new FormDefinitionRegistry();
+		registry.warmUp(Car.class, "carForm");
+		FormDefinitionRegistry.Stats stats = registry.getStats();
+		// car with automatic nested engine and dimensions
+		assertEquals(3, stats.getDefinitionCount());
+		assertEquals(3, stats.getBuildCount());
+		
+		FormMapping<Car> first = registry.automatic(Car.class, "carForm");
+		FormMapping<Car> second = registry.automatic(Car.class, "carForm");
+		assertSame(first, second);
+		assertEquals(3, registry.getStats().getBuildCount());
+		assertEquals(2, registry.getStats().getHitCount());
+		assertNotNull(first.getMapping(Engine.class, "engine"));
+		assertEquals(Forms.automatic(Car.class, "carForm").build().toString(), first.toString());
+	}
+	
+	@Test
+	public void testDefinitionsAreKeyedByInstantiatorAndConfig() {
+		FormDefinitionRegistry registry = new FormDefinitionRegistry();
+		Config config = Forms.config().build();
+		FormMapping<Address> byFactory = registry.automatic(Address.class, "address", 
+			Forms.factoryMethod(Address.class, "getInstance"), MappingType.SINGLE, config);
+		assertSame(byFactory, registry.automatic(Address.class, "address", 
+			Forms.factoryMethod(Address.class, "getInstance"), MappingType.SINGLE, config));
+		assertNotSame(byFactory, registry.automatic(Address.class, "address", 
+			Forms.factoryMethod(Address.class, "getInstance"), MappingType.SINGLE, Forms.config().build()));
+		FormMapping<Person> byConstructor = registry.automatic(Person.class, "person", new ConstructorInstantiator(), MappingType.SINGLE, config);
+		assertSame(byConstructor, registry.automatic(Person.class, "person", new ConstructorInstantiator(), MappingType.SINGLE, config));
+		assertEquals(3, registry.getStats().getDefinitionCount());
+		
+		registry.clear();
+		assertEquals(0, registry.getStats().getDefinitionCount());
+	}
+	
+	@Test
+	public void testCountOfDefinitionsIsBounded() {
+		FormDefinitionRegistry registry = new FormDefinitionRegistry(2);
+		for (int i = 0; i < 5; i++) {
+			// request-scoped configurations
+			registry.automatic(Person.class, "person", Forms.config().build());
+		}
+		assertEquals(5, registry.getStats().getBuildCount());
+		assertEquals(2, registry.getStats().getDefinitionCount());
+		
+		Config config = Forms.config().build();
+		FormMapping<Person> mapping = registry.automatic(Person.class, "person", config);
+		assertSame(mapping, registry.automatic(Person.class, "person", config));
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.formio.domain.Person;
+import net.formio.format.Formatter;
+import net.formio.format.Location;
+import net.formio.validation.ValidationResult;
+
+import org.junit.Test;
+
+public class FormFieldImplTest {
+
+	@Test
+	public void testValueIsFormattedLazilyOnlyOnce() {
+		CountingFormatter formatter = new CountingFormatter();
+		FormMapping<Person> form = Forms.basic(Person.class, "person")
+			.field(Forms.<String>field("firstName").formatter(formatter))
+			.field("lastName")
+			.build();
+		FormMapping<Person> filledForm = form.fill(new FormData<Person>(new Person("John", "Doe"), ValidationResult.empty), Location.ENGLISH);
+		assertEquals("Value should not be formatted until requested", 0, formatter.calls.get());
+		
+		FormField<String> field = filledForm.getField(String.class, "firstName");
+		assertEquals("JOHN", field.getValue());
+		assertEquals("JOHN", field.getValue());
+		assertEquals(1, formatter.calls.get());
+		assertEquals("Doe", filledForm.getField(String.class, "lastName").getValue());
+	}
+	
+	static class CountingFormatter implements Formatter<String> {
+		final AtomicInteger calls = new AtomicInteger();
+		
+		@Override
+		public String parseFromString(String str, Class<String> destClass, String formatPattern, Location loc) {
+			return str != null ? str.toLowerCase() : null;
+		}
+
+		@Override
+		public String makeString(String value, String formatPattern, Location loc) {
+			calls.incrementAndGet();
+			return value != null ? value.toUpperCase() : null;
+		}
+	}
+}
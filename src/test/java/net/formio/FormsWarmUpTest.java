@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import net.formio.data.TestForms;
+
+import org.junit.Test;
+
+public class FormsWarmUpTest {
+
+	@Test
+	public void testWarmUpDefinitions() throws Exception {
+		WarmUpReport report = Forms.warmUp(ForkJoinPool.commonPool(), TestForms.REG_FORM, TestForms.CAR_FORM).get();
+		assertTrue(report.getElementCount() > 0);
+		assertTrue(report.getClassNames().contains("net.formio.domain.Registration"));
+		assertTrue(report.getClassNames().contains("net.formio.domain.Address"));
+		assertTrue(report.getClassNames().contains("net.formio.domain.Engine"));
+		
+		StringBuilder classList = new StringBuilder();
+		report.writeClassList(classList);
+		assertTrue(classList.toString().contains("net/formio/domain/Registration\n"));
+		assertTrue(!classList.toString().contains("java/lang/String"));
+	}
+	
+	@Test
+	public void testWarmUpWithoutDefinitions() throws Exception {
+		WarmUpReport report = Forms.warmUp(ForkJoinPool.commonPool()).get();
+		assertEquals(0, report.getElementCount());
+		assertTrue(report.getClassNames().isEmpty());
+	}
+}
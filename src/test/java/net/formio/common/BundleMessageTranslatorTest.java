@@ -80,5 +80,23 @@ public class BundleMessageTranslatorTest {
 		BundleMessageTranslator tr = new BundleMessageTranslator(WeekDays.class);
 		assertEquals("Freitag", tr.getMessage("fr", Locale.GERMANY));
 	}
+	
+	@Test
+	public void testSharedInstance() {
+		BundleMessageTranslator de = BundleMessageTranslator.getInstance(WEEK_DAYS_BUNDLE, Locale.GERMAN, null);
+		assertSame(de, BundleMessageTranslator.getInstance(WEEK_DAYS_BUNDLE, Locale.GERMAN, null));
+		assertNotSame(de, BundleMessageTranslator.getInstance(WEEK_DAYS_BUNDLE, Locale.ENGLISH, null));
+		assertEquals("Dienstag", de.getMessage("tu"));
+		assertEquals("Dienstag", de.getMessage("tu"));
+		assertEquals("Tuesday", de.getMessage("tu", Locale.ENGLISH));
+		// missing keys are remembered too
+		assertEquals("???rt???", de.getMessage("rt"));
+		assertEquals("???rt???", de.getMessage("rt"));
+		assertEquals("First week of year 2014.", de.getMessage("week", Locale.ENGLISH, "First", Integer.valueOf(2014)));
+		assertEquals("Second week of year 2015.", de.getMessage("week", Locale.ENGLISH, "Second", Integer.valueOf(2015)));
+		
+		BundleMessageTranslator withFallback = BundleMessageTranslator.getInstance("some/Weeks", Locale.GERMAN, WEEK_DAYS_BUNDLE);
+		assertEquals("Dienstag", withFallback.getMessage("tu"));
+		assertEquals("???tu???", BundleMessageTranslator.getInstance("some/Weeks", Locale.GERMAN, null).getMessage("tu"));
+	}
 }
-
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.formio.FormData;
+import net.formio.common.heterog.HeterogMap;
+import net.formio.domain.Nation;
+import net.formio.domain.Person;
+import net.formio.inmemory.InMemorySessionStorage;
+import net.formio.props.FormElementProperty;
+import net.formio.utils.SerializationUtils;
+import net.formio.validation.ConstraintViolationMessage;
+import net.formio.validation.Severity;
+import net.formio.validation.ValidationResult;
+
+import org.junit.Test;
+
+public class BinaryCodecTest {
+	
+	private static final DataCodec<Person> PERSON_CODEC = new DataCodec<Person>() {
+		@Override
+		public void write(Person value, DataOutput out) throws IOException {
+			out.writeUTF(value.getFirstName());
+			out.writeUTF(value.getLastName());
+			out.writeLong(value.getPersonId());
+			out.writeInt(value.getSalary());
+			out.writeBoolean(value.isMale());
+			out.writeLong(value.getBirthDate() != null ? value.getBirthDate().getTime() : Long.MIN_VALUE);
+			out.writeUTF(value.getNation() != null ? value.getNation().name() : "");
+		}
+
+		@Override
+		public Person read(DataInput in) throws IOException {
+			Person person = new Person(in.readUTF(), in.readUTF());
+			person.setPersonId(in.readLong());
+			person.setSalary(in.readInt());
+			person.setMale(in.readBoolean());
+			long birthDate = in.readLong();
+			person.setBirthDate(birthDate != Long.MIN_VALUE ? new Date(birthDate) : null);
+			String nation = in.readUTF();
+			person.setNation(nation.isEmpty() ? null : Nation.valueOf(nation));
+			return person;
+		}
+	};
+
+	@Test
+	public void testValidationResultRoundTrip() {
+		ValidationResult result = newValidationResult();
+		ValidationResult decoded = BinaryCodec.decodeValidationResult(BinaryCodec.encodeValidationResult(result));
+		assertFalse(decoded.isSuccess());
+		assertEquals(result.getFieldMessages().keySet(), decoded.getFieldMessages().keySet());
+		ConstraintViolationMessage msg = decoded.getFieldMessages().get("person-salary").get(0);
+		assertEquals(Severity.WARNING, msg.getSeverity());
+		assertEquals("jakarta.validation.constraints.Min.message", msg.getMsgKey());
+		assertEquals(Long.valueOf(-8000L), msg.getMsgArgs().get("value"));
+		assertEquals(SeverityHolder.class, msg.getMsgArgs().get("payload"));
+		assertEquals("Global error", decoded.getGlobalMessages().get(0).getText());
+		
+		assertSame(ValidationResult.empty, BinaryCodec.decodeValidationResult(BinaryCodec.encodeValidationResult(ValidationResult.empty)));
+	}
+	
+	@Test
+	public void testHeterogMapRoundTrip() {
+		HeterogMap<String> props = FormElementProperty.createDefaultProperties();
+		props.putTyped(FormElementProperty.VISIBLE, Boolean.FALSE);
+		props.putTyped(FormElementProperty.HELP, "Some help");
+		props.putTyped(FormElementProperty.MAX_LENGTH, Integer.valueOf(20));
+		HeterogMap<String> decoded = BinaryCodec.decodeHeterogMap(BinaryCodec.encodeHeterogMap(props));
+		assertEquals(props.size(), decoded.size());
+		assertEquals(Boolean.FALSE, decoded.getTyped(FormElementProperty.VISIBLE));
+		assertEquals("Some help", decoded.getTyped(FormElementProperty.HELP));
+		assertEquals(Integer.valueOf(20), decoded.getTyped(FormElementProperty.MAX_LENGTH));
+		assertEquals(0, decoded.getTyped(FormElementProperty.AJAX_HANDLERS).length);
+	}
+	
+	@Test
+	public void testFormDataInSessionStorage() {
+		SessionStorage storage = new InMemorySessionStorage();
+		assertNull(BinaryCodec.loadFormData(storage, "person", PERSON_CODEC));
+		FormData<Person> formData = new FormData<Person>(newPerson(), newValidationResult());
+		BinaryCodec.storeFormData(storage, "person", formData, PERSON_CODEC);
+		FormData<Person> loaded = BinaryCodec.loadFormData(storage, "person", PERSON_CODEC);
+		assertEquals("Novak", loaded.getData().getLastName());
+		assertEquals(Nation.CZECH, loaded.getData().getNation());
+		assertEquals(formData.getData().getBirthDate(), loaded.getData().getBirthDate());
+		assertEquals(1, loaded.getValidationResult().getGlobalMessages().size());
+		
+		FormData<Person> bySerialization = BinaryCodec.decodeFormData(
+			BinaryCodec.encodeFormData(formData, BinaryCodec.<Person>serializingCodec()), BinaryCodec.<Person>serializingCodec());
+		assertEquals("Jan", bySerialization.getData().getFirstName());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testRejectsUnknownFormat() {
+		BinaryCodec.decodeValidationResult(new byte[] { 1, 2, 3 });
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testSerialFilterRejectsClass() {
+		FormData<Person> formData = new FormData<Person>(newPerson(), ValidationResult.empty);
+		ObjectInputFilter noPersons = ObjectInputFilter.Config.createFilter("!" + Person.class.getName());
+		BinaryCodec.decodeFormData(
+			BinaryCodec.encodeFormData(formData, BinaryCodec.<Person>serializingCodec()), BinaryCodec.<Person>serializingCodec(noPersons));
+	}
+	
+	@Test
+	public void testDecodesSeverityOrdinalOfVersion1() {
+		// header, no field messages, one global message: severity ordinal, text "hi", no message key, no arguments
+		byte[] bytes = new byte[] { (byte)0xF1, 1, 2, 0, 1, 1, 1, 2, 'h', 'i', 0, 0 };
+		ConstraintViolationMessage msg = BinaryCodec.decodeValidationResult(bytes).getGlobalMessages().get(0);
+		assertSame(Severity.WARNING, msg.getSeverity());
+		assertEquals("hi", msg.getText());
+	}
+	
+	@Test
+	public void testSmallerThanJavaSerialization() throws Exception {
+		FormData<Person> formData = new FormData<Person>(newPerson(), newValidationResult());
+		byte[] javaSerialized = SerializationUtils.serialize(formData);
+		byte[] encoded = BinaryCodec.encodeFormData(formData, PERSON_CODEC);
+		assertTrue("Encoded form data (" + encoded.length + " B) should be smaller than serialized (" + javaSerialized.length + " B)", 
+			encoded.length < javaSerialized.length);
+	}
+	
+	private static Person newPerson() {
+		Person person = TestData.newPerson();
+		person.setSalary(7000);
+		return person;
+	}
+	
+	private static ValidationResult newValidationResult() {
+		Map<String, List<ConstraintViolationMessage>> fieldMsgs = new LinkedHashMap<String, List<ConstraintViolationMessage>>();
+		List<ConstraintViolationMessage> salaryMsgs = new ArrayList<ConstraintViolationMessage>();
+		Map<String, Serializable> salaryArgs = new LinkedHashMap<String, Serializable>();
+		salaryArgs.put("value", Long.valueOf(-8000L));
+		salaryArgs.put("payload", SeverityHolder.class);
+		salaryMsgs.add(new ConstraintViolationMessage(Severity.WARNING, "Salary is too low", "{jakarta.validation.constraints.Min.message}", salaryArgs));
+		fieldMsgs.put("person-salary", salaryMsgs);
+		List<ConstraintViolationMessage> phoneMsgs = new ArrayList<ConstraintViolationMessage>();
+		phoneMsgs.add(new ConstraintViolationMessage(Severity.ERROR, "Phone is not valid", "jakarta.validation.constraints.Pattern.message", null));
+		fieldMsgs.put("person-phone", phoneMsgs);
+		List<ConstraintViolationMessage> globalMsgs = new ArrayList<ConstraintViolationMessage>();
+		globalMsgs.add(new ConstraintViolationMessage(Severity.ERROR, "Global error", "global.error", null));
+		return new ValidationResult(fieldMsgs, globalMsgs);
+	}
+	
+	static final class SeverityHolder {
+		// class used as message argument
+	}
+}
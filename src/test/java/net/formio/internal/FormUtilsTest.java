@@ -33,5 +33,15 @@ public class FormUtilsTest {
 		assertEquals("", FormUtils.removeBrackets(""));
 		assertEquals(null, FormUtils.removeBrackets(null));
 	}
+	
+	@Test
+	public void testLabelKeyForName() {
+		assertEquals("registration-collegues-regDate-month", FormUtils.labelKeyForName("registration-collegues[0]-regDate[12]-month"));
+		assertEquals("registration-collegues", FormUtils.labelKeyForName("registration-collegues[]"));
+		assertEquals("registration-collegues[a]-name", FormUtils.labelKeyForName("registration-collegues[a]-name"));
+		assertEquals("registration-collegues[", FormUtils.labelKeyForName("registration-collegues[1]["));
+		assertEquals("", FormUtils.labelKeyForName(""));
+		assertEquals(null, FormUtils.labelKeyForName(null));
+	}
 
 }
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.props;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import net.formio.common.heterog.HeterogCollections;
+import net.formio.common.heterog.HeterogMap;
+
+import org.junit.Test;
+
+public class FormPropertiesImplTest {
+
+	@Test
+	public void testIndexedPropertiesAndFlags() {
+		final HeterogMap<String> map = HeterogCollections.<String>newLinkedMap();
+		map.putTyped(FormElementProperty.VISIBLE, Boolean.FALSE);
+		map.putTyped(FormElementProperty.ENABLED, Boolean.TRUE);
+		map.putTyped(FormElementProperty.HELP, "Some help");
+		map.putTyped(FormElementProperty.MAX_LENGTH, Integer.valueOf(20));
+		FormPropertiesImpl props = new FormPropertiesImpl(map);
+		
+		// later modifications of source map are not reflected
+		map.putTyped(FormElementProperty.VISIBLE, Boolean.TRUE);
+		
+		assertFalse(props.isVisible());
+		assertTrue(props.isEnabled());
+		assertFalse(props.isReadonly());
+		assertEquals("Some help", props.getHelp());
+		assertEquals(Integer.valueOf(20), props.getProperty(FormElementProperty.MAX_LENGTH));
+		
+		FormPropertiesImpl changed = new FormPropertiesImpl(props, FormElementProperty.READ_ONLY, Boolean.TRUE);
+		assertTrue(changed.isReadonly());
+		assertFalse(changed.isVisible());
+		assertFalse("Source properties should be unchanged", props.isReadonly());
+		
+		FormPropertiesImpl copy = new FormPropertiesImpl(changed);
+		assertSame(changed.getHeterogMap(), copy.getHeterogMap());
+		assertTrue(copy.isReadonly());
+	}
+	
+	@Test
+	public void testIndexedPropertiesAfterDeserialization() throws Exception {
+		final HeterogMap<String> map = HeterogCollections.<String>newLinkedMap();
+		map.putTyped(FormElementProperty.DETACHED, Boolean.TRUE);
+		map.putTyped(FormElementProperty.PLACEHOLDER, "Name");
+		FormPropertiesImpl props = new FormPropertiesImpl(map);
+		
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(props);
+		oos.close();
+		ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+		FormPropertiesImpl deserialized = (FormPropertiesImpl)ois.readObject();
+		ois.close();
+		
+		assertTrue(deserialized.isDetached());
+		assertEquals("Name", deserialized.getProperty(FormElementProperty.PLACEHOLDER));
+	}
+	
+	@Test
+	public void testPropertyIsResolvedToRegisteredInstance() throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(FormElementProperty.PLACEHOLDER);
+		oos.close();
+		ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+		Object deserialized = ois.readObject();
+		ois.close();
+		
+		assertSame(FormElementProperty.PLACEHOLDER, deserialized);
+	}
+}
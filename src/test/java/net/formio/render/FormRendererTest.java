@@ -16,14 +16,34 @@
  */
 package net.formio.render;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import net.formio.BasicListFormMapping;
+import net.formio.Field;
 import net.formio.FormData;
+import net.formio.FormField;
 import net.formio.FormMapping;
 import net.formio.Forms;
+import net.formio.choice.CacheableChoiceProvider;
+import net.formio.choice.ChoiceItem;
+import net.formio.choice.ChoiceRenderer;
 import net.formio.data.TestData;
 import net.formio.data.TestForms;
+import net.formio.domain.inputs.Employer;
+import net.formio.domain.inputs.Function;
 import net.formio.domain.inputs.Profile;
 import net.formio.format.Location;
+import net.formio.render.tdi.TdiResponseBuilder;
 import net.formio.validation.ValidationResult;
 
 import org.junit.Test;
@@ -47,5 +67,221 @@ public class FormRendererTest {
 		
 		Forms.previewForm(filledForm, loc);
 	}
+	
+	@Test
+	public void testStreamingRenderEqualsStringRender() throws IOException {
+		final Location loc = Location.ENGLISH;
+		FormMapping<Profile> filledForm = TestForms.ALL_FIELDS_FORM.fillAndValidate(new FormData<Profile>(TestData.newAllFields(), ValidationResult.empty), loc);
+		FormRenderer renderer = new FormRenderer(loc);
+		
+		String markup = renderer.renderElement(filledForm);
+		StringWriter writer = new StringWriter();
+		renderer.renderElement(filledForm, writer);
+		assertEquals(markup, writer.toString());
+		assertEquals(markup, renderer.renderMarkupElementPlaceholder(filledForm, renderer.renderElementMarkup(filledForm)));
+		assertTrue(markup.contains("<textarea"));
+		
+		String page = new WholeFormRenderer(renderer).renderHtmlFormPage(filledForm);
+		StringWriter pageWriter = new StringWriter();
+		new WholeFormRenderer(renderer).renderHtmlFormPage(filledForm, pageWriter);
+		assertEquals(page, pageWriter.toString());
+		assertTrue(page.contains(markup));
+		
+		TdiResponseBuilder response = renderer.ajaxResponse().update(filledForm);
+		StringWriter responseWriter = new StringWriter();
+		response.writeTo(responseWriter);
+		assertEquals(response.asString(), responseWriter.toString());
+		assertTrue(response.asString().contains(renderer.renderElementMarkup(filledForm)));
+	}
+
+	@Test
+	public void testRenderTemplatesReusedForFilledCopies() {
+		final Location loc = Location.ENGLISH;
+		FormRenderer renderer = new FormRenderer(loc);
+		FormRenderer uncachedRenderer = new FormRenderer(loc) {
+			@Override
+			protected boolean isRenderTemplateCacheable() {
+				return false;
+			}
+		};
+		FormMapping<Profile> filledForm = TestForms.ALL_FIELDS_FORM.fill(new FormData<Profile>(TestData.newAllFields(), ValidationResult.empty), loc);
+		String markup = renderer.renderElement(filledForm);
+		int templateCount = FormRenderer.TEMPLATES.size();
+		assertTrue(templateCount > 0);
+		assertEquals(uncachedRenderer.renderElement(filledForm), markup);
+		
+		FormMapping<Profile> otherFilledForm = TestForms.ALL_FIELDS_FORM.fill(new FormData<Profile>(TestData.newAllFields(), ValidationResult.empty), loc);
+		assertEquals(markup, renderer.renderElement(otherFilledForm));
+		assertEquals("filled copies of definition should share templates", templateCount, FormRenderer.TEMPLATES.size());
+		
+		Profile profile = TestData.newAllFields();
+		List<Employer> employers = new ArrayList<Employer>();
+		for (int i = 0; i < 30; i++) {
+			Employer e = new Employer();
+			e.setName("Employer " + i);
+			employers.add(e);
+		}
+		profile.setEmployers(employers);
+		FormMapping<Profile> longListForm = TestForms.ALL_FIELDS_FORM.fill(new FormData<Profile>(profile, ValidationResult.empty), loc);
+		String longListMarkup = renderer.renderElement(longListForm);
+		assertEquals("rows of list mapping should share templates", templateCount, FormRenderer.TEMPLATES.size());
+		assertEquals(uncachedRenderer.renderElement(longListForm), longListMarkup);
+		assertTrue(longListMarkup.contains("for=\"id-profile-employers[29]-name\""));
+	}
+	
+	@Test
+	public void testRenderManySelectedItems() {
+		final Location loc = Location.ENGLISH;
+		Profile profile = TestData.newAllFields();
+		List<Function> functions = new ArrayList<Function>();
+		for (long id = 400; id <= 1000; id += 100) {
+			functions.add(new Function(Long.valueOf(id), "F" + id));
+		}
+		functions.add(new Function(Long.valueOf(200), "Student"));
+		profile.setFunctions(functions);
+		FormMapping<Profile> filledForm = TestForms.ALL_FIELDS_FORM.fill(new FormData<Profile>(profile, ValidationResult.empty), loc);
+		String markup = new FormRenderer(loc).renderElement(filledForm);
+		String nl = System.getProperty("line.separator");
+		assertTrue(markup.contains("<option value=\"200\" selected=\"selected\">Student</option>" + nl));
+		assertTrue(markup.contains("<option value=\"300\">Sportsman</option>" + nl));
+		assertTrue(markup.contains("<option value=\"400\" selected=\"selected\">Manager</option>" + nl));
+	}
+	
+	@Test
+	public void testCachedOptionsOfVersionedChoiceProvider() {
+		final Location loc = Location.ENGLISH;
+		final List<Function> functions = new ArrayList<Function>();
+		functions.add(new Function(Long.valueOf(200), "Student"));
+		functions.add(new Function(Long.valueOf(300), "R&D"));
+		final long[] version = new long[] { 1L };
+		CacheableChoiceProvider<Function> provider = new CacheableChoiceProvider<Function>() {
+			@Override
+			public List<? extends Function> getItems() {
+				return new ArrayList<Function>(functions);
+			}
+
+			@Override
+			public long getVersion() {
+				return version[0];
+			}
+		};
+		FormMapping<Profile> definition = Forms.basic(Profile.class, "profile")
+			.field(Forms.<Function>field("functions", Field.DROP_DOWN_CHOICE)
+				.choices(provider)
+				.choiceRenderer(new ChoiceRenderer<Function>() {
+					@Override
+					public ChoiceItem getItem(Function item, int itemIndex) {
+						return ChoiceItem.valueOf("" + item.getId(), item.getName());
+					}
+				}))
+			.build(loc);
+		Profile profile = TestData.newAllFields();
+		profile.setFunctions(Arrays.asList(new Function(Long.valueOf(300), "R&D")));
+		FormRenderer renderer = new FormRenderer(loc);
+		String nl = System.getProperty("line.separator");
+		
+		int optionsCount = FormRenderer.TEMPLATES.optionsSize();
+		String markup = renderer.renderElement(definition.fill(new FormData<Profile>(profile, ValidationResult.empty), loc));
+		assertTrue(markup.contains("<option value=\"200\">Student</option>" + nl));
+		assertTrue(markup.contains("<option value=\"300\" selected=\"selected\">R&amp;D</option>" + nl));
+		assertEquals(optionsCount + 1, FormRenderer.TEMPLATES.optionsSize());
+		
+		profile.setFunctions(Arrays.asList(new Function(Long.valueOf(200), "Student")));
+		markup = renderer.renderElement(definition.fill(new FormData<Profile>(profile, ValidationResult.empty), loc));
+		assertTrue(markup.contains("<option value=\"200\" selected=\"selected\">Student</option>" + nl));
+		assertTrue(markup.contains("<option value=\"300\">R&amp;D</option>" + nl));
+		assertEquals(optionsCount + 1, FormRenderer.TEMPLATES.optionsSize());
+		
+		// new version of items is rendered again
+		functions.add(new Function(Long.valueOf(400), "Manager"));
+		version[0]++;
+		markup = renderer.renderElement(definition.fill(new FormData<Profile>(profile, ValidationResult.empty), loc));
+		assertTrue(markup.contains("<option value=\"400\">Manager</option>" + nl));
+	}
+	
+	@Test
+	public void testCompactLineSeparator() {
+		final Location loc = Location.ENGLISH;
+		FormMapping<Profile> filledForm = TestForms.ALL_FIELDS_FORM.fill(new FormData<Profile>(TestData.newAllFields(), ValidationResult.empty), loc);
+		String markup = new FormRenderer(loc).renderElement(filledForm);
+		FormRenderer compactRenderer = new FormRenderer(loc, FormRenderer.COMPACT_LINE_SEPARATOR);
+		String compactMarkup = compactRenderer.renderElement(filledForm);
+		assertEquals(markup.replace(System.lineSeparator(), ""), compactMarkup);
+		assertEquals(compactMarkup, new WholeFormRenderer(compactRenderer).renderElement(filledForm));
+		assertTrue(compactRenderer.ajaxResponse().update(filledForm).asString().startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\" ?><response><status>OK</status><update"));
+		
+		String unixMarkup = new FormRenderer(loc, "\n").renderElement(filledForm);
+		assertEquals(markup.replace(System.lineSeparator(), "\n"), unixMarkup);
+	}
+
+	@Test
+	public void testParallelRenderingOfLargeList() throws IOException {
+		final Location loc = Location.ENGLISH;
+		Profile profile = TestData.newAllFields();
+		List<Employer> employers = new ArrayList<Employer>();
+		for (int i = 0; i < 50; i++) {
+			Employer e = new Employer();
+			e.setName("Employer " + i);
+			e.setFromYear(1990 + i % 10);
+			e.setToYear(2000 + i % 10);
+			employers.add(e);
+		}
+		profile.setEmployers(employers);
+		FormMapping<Profile> filledForm = TestForms.ALL_FIELDS_FORM.fill(new FormData<Profile>(profile, ValidationResult.empty), loc);
+		String markup = new FormRenderer(loc, "\n").renderElement(filledForm);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			FormRenderer renderer = new FormRenderer(loc, "\n", new ParallelRendering(executor, 10, 7));
+			assertEquals(markup, renderer.renderElement(filledForm));
+			StringWriter sw = new StringWriter();
+			renderer.renderElement(filledForm, sw);
+			assertEquals(markup, sw.toString());
+			assertEquals(markup, new WholeFormRenderer(renderer).renderElement(filledForm));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testOverriddenStringMethodsAreUsed() throws IOException {
+		final Location loc = Location.ENGLISH;
+		FormMapping<Profile> filledForm = TestForms.ALL_FIELDS_FORM.fill(new FormData<Profile>(TestData.newAllFields(), ValidationResult.empty), loc);
+		FormRenderer renderer = new FormRenderer(loc) {
+			@Override
+			protected <T> String renderMarkupFormGroup(FormField<T> field, String innerMarkup) {
+				return "<group>" + super.renderMarkupFormGroup(field, innerMarkup) + "</group>";
+			}
+			
+			@Override
+			protected <T> String renderMarkupMappingBox(FormMapping<T> mapping, String innerMarkup) {
+				return "<box>" + super.renderMarkupMappingBox(mapping, innerMarkup) + "</box>";
+			}
+			
+			@Override
+			public <T> String renderVisibleField(FormField<T> field) {
+				return "<field>" + super.renderVisibleField(field) + "</field>";
+			}
+			
+			@Override
+			protected <T> String renderMarkupListMapping(BasicListFormMapping<T> listMapping) {
+				return "<list>" + super.renderMarkupListMapping(listMapping) + "</list>";
+			}
+		};
+		String markup = renderer.renderElement(filledForm);
+		assertTrue(markup.contains("<group>"));
+		assertTrue(markup.contains("<box>"));
+		assertTrue(markup.contains("<field>"));
+		assertTrue(markup.contains("<list>"));
+		assertEquals(new FormRenderer(loc).renderElement(filledForm), markup
+			.replace("<group>", "").replace("</group>", "")
+			.replace("<box>", "").replace("</box>", "")
+			.replace("<field>", "").replace("</field>", "")
+			.replace("<list>", "").replace("</list>", ""));
+		
+		StringWriter sw = new StringWriter();
+		renderer.renderElement(filledForm, sw);
+		assertEquals(markup, sw.toString());
+	}
 
 }
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.render;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class RenderUtilsTest {
+	
+	private static final String OWASP_SPECIAL_CHARS = "<>&\"'()#%;+-";
+
+	@Test
+	public void testEscapeOwaspSpecialChars() {
+		assertEquals("&lt;&gt;&amp;&#034;&#039;&#040;&#041;&#035;&#037;&#059;&#043;&#045;", RenderUtils.escapeHtml(OWASP_SPECIAL_CHARS));
+		assertEquals("&lt;script&gt;alert&#040;&#039;x&#039;&#041;&#059;&lt;/script&gt;", RenderUtils.escapeHtml("<script>alert('x');</script>"));
+		assertEquals("a &amp;amp&#059; b", RenderUtils.escapeHtml("a &amp; b"));
+	}
+	
+	@Test
+	public void testStringWithoutSpecialCharsIsNotCopied() {
+		String s = "Plain text with diacritics: P\u0159\u00edli\u0161 \u017elu\u0165ou\u010dk\u00fd k\u016f\u0148";
+		assertSame(s, RenderUtils.escapeHtml(s));
+		assertEquals("", RenderUtils.escapeHtml(null));
+		assertEquals("", RenderUtils.escapeHtml(""));
+	}
+	
+	@Test
+	public void testEscapeEqualsReferenceImplementation() throws IOException {
+		Random random = new Random(42);
+		String alphabet = OWASP_SPECIAL_CHARS + "abcXYZ 019\u00e1\u017e\u20ac\n\t";
+		for (int n = 0; n < 2000; n++) {
+			int len = random.nextInt(40);
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < len; i++) {
+				sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			String s = sb.toString();
+			String expected = referenceEscape(s);
+			assertEquals(expected, RenderUtils.escapeHtml(s));
+			StringWriter writer = new StringWriter();
+			RenderUtils.escapeHtml(s, writer);
+			assertEquals(expected, writer.toString());
+			assertEquals("prefix" + expected, RenderUtils.escapeHtml(s, new StringBuilder("prefix")).toString());
+		}
+	}
+	
+	/** Escaping character by character, one entity for each OWASP special character. */
+	private static String referenceEscape(String s) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			int special = OWASP_SPECIAL_CHARS.indexOf(c);
+			if (special < 0) {
+				sb.append(c);
+			} else if (c == '<') {
+				sb.append("&lt;");
+			} else if (c == '>') {
+				sb.append("&gt;");
+			} else if (c == '&') {
+				sb.append("&amp;");
+			} else {
+				sb.append("&#0").append((int)c).append(";");
+			}
+		}
+		return sb.toString();
+	}
+}
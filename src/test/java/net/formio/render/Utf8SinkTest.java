@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.render;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import net.formio.FormData;
+import net.formio.FormMapping;
+import net.formio.data.TestData;
+import net.formio.data.TestForms;
+import net.formio.domain.inputs.Profile;
+import net.formio.format.Location;
+import net.formio.validation.ValidationResult;
+
+import org.junit.Test;
+
+public class Utf8SinkTest {
+
+	@Test
+	public void testEncodingEqualsStringBytes() throws IOException {
+		Random random = new Random(7);
+		String alphabet = "ab<>\"\u00e1\u017e\u20ac\ud83d\ude00\ud800x\udc00";
+		for (int n = 0; n < 500; n++) {
+			StringBuilder sb = new StringBuilder();
+			int len = random.nextInt(50);
+			for (int i = 0; i < len; i++) {
+				sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			String s = sb.toString();
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			// small buffer to test flushing in the middle of characters
+			Utf8Sink sink = new Utf8Sink(bos, 5);
+			sink.append(s.substring(0, s.length() / 2));
+			for (int i = s.length() / 2; i < s.length(); i++) {
+				sink.append(s.charAt(i));
+			}
+			sink.close();
+			assertArrayEquals(s, s.getBytes(StandardCharsets.UTF_8), bos.toByteArray());
+		}
+	}
+	
+	@Test
+	public void testFragments() throws IOException {
+		Utf8Sink.Fragment fragment = Utf8Sink.fragment("<p>K\u016f\u0148</p>");
+		ByteBuffer buffer = ByteBuffer.allocate(100);
+		Utf8Sink sink = new Utf8Sink(buffer);
+		sink.append("<div>");
+		Utf8Sink.append(sink, fragment);
+		sink.write(fragment);
+		sink.append("</div>");
+		sink.flush();
+		String expected = "<div><p>K\u016f\u0148</p><p>K\u016f\u0148</p></div>";
+		assertEquals(expected, new String(Arrays.copyOf(buffer.array(), buffer.position()), StandardCharsets.UTF_8));
+		
+		StringBuilder sb = new StringBuilder();
+		Utf8Sink.append(sb, fragment);
+		assertEquals(fragment.getText(), sb.toString());
+	}
+	
+	@Test
+	public void testRenderToSink() throws IOException {
+		final Location loc = Location.ENGLISH;
+		FormMapping<Profile> filledForm = TestForms.ALL_FIELDS_FORM.fill(new FormData<Profile>(TestData.newAllFields(), ValidationResult.empty), loc);
+		FormRenderer renderer = new FormRenderer(loc);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		Utf8Sink sink = new Utf8Sink(bos);
+		renderer.renderElement(filledForm, sink);
+		sink.close();
+		assertEquals(renderer.renderElement(filledForm), new String(bos.toByteArray(), StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.render.tdi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import net.formio.FormData;
+import net.formio.FormMapping;
+import net.formio.data.TestData;
+import net.formio.data.TestForms;
+import net.formio.domain.inputs.Profile;
+import net.formio.format.Location;
+import net.formio.render.FormRenderer;
+import net.formio.validation.ValidationResult;
+
+import org.junit.Test;
+
+public class TdiResponseWriterTest {
+	
+	@Test
+	public void testStreamedResponseEqualsBuiltResponse() throws IOException {
+		final Location loc = Location.ENGLISH;
+		FormMapping<Profile> filledForm = TestForms.ALL_FIELDS_FORM.fill(new FormData<Profile>(TestData.newAllFields(), ValidationResult.empty), loc);
+		FormRenderer renderer = new FormRenderer(loc);
+		String expected = new TdiResponseBuilder(renderer)
+			.update(filledForm)
+			.insert(InsertionPosition.AFTER, "target", filledForm.getElements().get(1))
+			.script("alert('\u017elu\u0165ou\u010dk\u00fd');")
+			.asString();
+		
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		TdiResponseWriter writer = new TdiResponseWriter(renderer, bos, false);
+		writer.update(filledForm)
+			.insert(InsertionPosition.AFTER, "target", filledForm.getElements().get(1))
+			.script("alert('\u017elu\u0165ou\u010dk\u00fd');");
+		writer.close();
+		assertEquals(expected, new String(bos.toByteArray(), StandardCharsets.UTF_8));
+	}
+	
+	@Test
+	public void testGzippedResponse() throws IOException {
+		TdiResponseBuilder builder = new TdiResponseBuilder().status("ERROR").update("some-id", "<p>\u010cesky</p>").reload();
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		TdiResponseWriter writer = new TdiResponseWriter(builder, bos, true);
+		writer.write(builder);
+		writer.close();
+		assertEquals(builder.asString(), new String(gunzip(bos.toByteArray()), StandardCharsets.UTF_8));
+	}
+	
+	@Test
+	public void testStatusAfterOtherInstruction() throws IOException {
+		TdiResponseWriter writer = new TdiResponseWriter(new FormRenderer(), new ByteArrayOutputStream(), false);
+		writer.reload();
+		try {
+			writer.status("ERROR");
+			fail("status after other instruction should not be allowed");
+		} catch (IllegalStateException ex) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void testBuilderWithStatusAfterOtherInstruction() throws IOException {
+		TdiResponseBuilder builder = new TdiResponseBuilder().update("some-id", "<p>text</p>").status("ERROR");
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		TdiResponseWriter writer = new TdiResponseWriter(builder, bos, false);
+		writer.write(builder);
+		writer.close();
+		String expected = new TdiResponseBuilder().status("ERROR").update("some-id", "<p>text</p>").asString();
+		assertEquals(expected, new String(bos.toByteArray(), StandardCharsets.UTF_8));
+	}
+	
+	private static byte[] gunzip(byte[] bytes) throws IOException {
+		InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buf = new byte[1024];
+		int len;
+		while ((len = in.read(buf)) > 0) {
+			out.write(buf, 0, len);
+		}
+		in.close();
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.servlet.common;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Locale;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+public class ServletResponsesTest {
+
+	@Test
+	public void testAcceptsGzip() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		assertFalse(ServletResponses.acceptsGzip(request));
+		request.addHeader("Accept-Encoding", "deflate, gzip;q=0.8");
+		assertTrue(ServletResponses.acceptsGzip(request));
+		
+		assertTrue(ServletResponses.acceptsGzip("GZIP"));
+		assertTrue(ServletResponses.acceptsGzip("br, *;q=0.1"));
+		assertFalse(ServletResponses.acceptsGzip("gzip;q=0"));
+		assertFalse(ServletResponses.acceptsGzip("gzip; q=0.000, *"));
+		assertFalse(ServletResponses.acceptsGzip("deflate, br"));
+		assertFalse(ServletResponses.acceptsGzip("*;q=0"));
+	}
+	
+	@Test
+	public void testAcceptsGzipInTurkishLocale() {
+		Locale defaultLocale = Locale.getDefault();
+		Locale.setDefault(new Locale("tr", "TR"));
+		try {
+			assertTrue(ServletResponses.acceptsGzip("GZIP"));
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+}
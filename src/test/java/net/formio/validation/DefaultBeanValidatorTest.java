@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.formio.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.validation.ValidatorFactory;
+
+import net.formio.Config;
+import net.formio.FormMapping;
+import net.formio.Forms;
+import net.formio.binding.DefaultBeanExtractor;
+import net.formio.domain.Engine;
+import net.formio.domain.Person;
+import net.formio.validation.validators.AbstractAsyncValidator;
+
+import org.junit.Test;
+
+public class DefaultBeanValidatorTest {
+
+	@Test
+	public void testSkipsValidationOfUnconstrainedClass() {
+		DefaultBeanValidator validator = new DefaultBeanValidator(Config.getDefaultValidatorFactory(), new DefaultBeanExtractor());
+		ValidationResult res = validator.validate(new Engine(), Locale.ENGLISH);
+		assertTrue(res.isEmpty());
+		assertEquals(1, validator.getSkippedValidationsCount());
+		
+		validator.validate(new Engine(), Locale.ENGLISH);
+		assertEquals(2, validator.getSkippedValidationsCount());
+	}
+	
+	@Test
+	public void testValidatesConstrainedClass() {
+		DefaultBeanValidator validator = new DefaultBeanValidator(Config.getDefaultValidatorFactory(), new DefaultBeanExtractor());
+		ValidationResult res = validator.validate(new Person("John", "D"), Locale.ENGLISH);
+		assertFalse(res.isSuccess());
+		assertEquals(0, validator.getSkippedValidationsCount());
+	}
+	
+	@Test
+	public void testValidatorFactoryIsObtainedLazily() {
+		final AtomicInteger requests = new AtomicInteger();
+		DefaultBeanValidator validator = DefaultBeanValidator.withLazyValidatorFactory(new Supplier<ValidatorFactory>() {
+			@Override
+			public ValidatorFactory get() {
+				requests.incrementAndGet();
+				return Config.getDefaultValidatorFactory();
+			}
+		}, new DefaultBeanExtractor(), "ValidationMessages");
+		assertEquals(0, requests.get());
+		
+		ValidationResult res = validator.validate(new Person("John", "D"), Locale.ENGLISH);
+		assertFalse(res.isSuccess());
+		assertTrue(requests.get() > 0);
+	}
+	
+	@Test
+	public void testWarmUpDefaults() {
+		Config.warmUpDefaults(ForkJoinPool.commonPool()).join();
+		assertSame(Config.getDefaultValidatorFactory(), Config.getDefaultValidatorFactory());
+	}
+	
+	@Test
+	public void testRunsAsyncValidatorsWithTimeout() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Config cfg = Forms.config().validationExecutor(executor).build();
+			FormMapping<Person> form = Forms.basic(Person.class, "person")
+				.field(Forms.<String>field("firstName").validator(new NeverCompletingValidator(50)))
+				.field(Forms.<String>field("lastName").validator(new ForbiddenValueValidator("Doe")))
+				.build(cfg);
+			ValidationResult res = cfg.getBeanValidator().validate(new Person("John", "Doe"), null, form, 
+				Collections.<InterpolatedMessage>emptyList(), Locale.ENGLISH);
+			
+			List<ConstraintViolationMessage> firstNameMsgs = res.getFieldMessages().get("person-firstName");
+			assertEquals(1, firstNameMsgs.size());
+			assertEquals(Severity.WARNING, firstNameMsgs.get(0).getSeverity());
+			assertEquals("validation.timeout.message", firstNameMsgs.get(0).getMsgKey());
+			
+			List<ConstraintViolationMessage> lastNameMsgs = res.getFieldMessages().get("person-lastName");
+			assertEquals(1, lastNameMsgs.size());
+			assertEquals(Severity.ERROR, lastNameMsgs.get(0).getSeverity());
+			assertFalse(res.isSuccess());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void testAppliesTimeoutWithoutValidationExecutor() {
+		Config cfg = Forms.config().build();
+		FormMapping<Person> form = Forms.basic(Person.class, "person")
+			.field(Forms.<String>field("firstName").validator(new NeverCompletingValidator(50)))
+			.build(cfg);
+		ValidationResult res = cfg.getBeanValidator().validate(new Person("John", "Doe"), null, form, 
+			Collections.<InterpolatedMessage>emptyList(), Locale.ENGLISH);
+		
+		List<ConstraintViolationMessage> firstNameMsgs = res.getFieldMessages().get("person-firstName");
+		assertEquals(1, firstNameMsgs.size());
+		assertEquals(Severity.WARNING, firstNameMsgs.get(0).getSeverity());
+		assertEquals("validation.timeout.message", firstNameMsgs.get(0).getMsgKey());
+	}
+	
+	@Test(timeout = 5000)
+	public void testTimeoutLimitsBlockingValidatorWithoutValidationExecutor() {
+		Config cfg = Forms.config().build();
+		final CountDownLatch release = new CountDownLatch(1);
+		FormMapping<Person> form = Forms.basic(Person.class, "person")
+			.field(Forms.<String>field("firstName").validator(new BlockingValidator(50, release)))
+			.build(cfg);
+		try {
+			ValidationResult res = cfg.getBeanValidator().validate(new Person("John", "Doe"), null, form, 
+				Collections.<InterpolatedMessage>emptyList(), Locale.ENGLISH);
+			
+			List<ConstraintViolationMessage> firstNameMsgs = res.getFieldMessages().get("person-firstName");
+			assertEquals(1, firstNameMsgs.size());
+			assertEquals("validation.timeout.message", firstNameMsgs.get(0).getMsgKey());
+		} finally {
+			release.countDown();
+		}
+	}
+	
+	static class BlockingValidator extends AbstractAsyncValidator<String> {
+		private final CountDownLatch release;
+		
+		BlockingValidator(long timeoutMillis, CountDownLatch release) {
+			super(timeoutMillis);
+			this.release = release;
+		}
+		
+		@Override
+		public <U extends String> CompletableFuture<List<InterpolatedMessage>> validateAsync(ValidationContext<U> ctx, Executor executor) {
+			return CompletableFuture.supplyAsync(new Supplier<List<InterpolatedMessage>>() {
+				@Override
+				public List<InterpolatedMessage> get() {
+					try {
+						release.await();
+					} catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+					return Collections.<InterpolatedMessage>emptyList();
+				}
+			}, executor);
+		}
+	}
+	
+	static class NeverCompletingValidator extends AbstractAsyncValidator<String> {
+		NeverCompletingValidator(long timeoutMillis) {
+			super(timeoutMillis);
+		}
+		
+		@Override
+		public <U extends String> CompletableFuture<List<InterpolatedMessage>> validateAsync(ValidationContext<U> ctx, Executor executor) {
+			return new CompletableFuture<List<InterpolatedMessage>>();
+		}
+	}
+	
+	static class ForbiddenValueValidator extends AbstractAsyncValidator<String> {
+		private final String forbiddenValue;
+		
+		ForbiddenValueValidator(String forbiddenValue) {
+			this.forbiddenValue = forbiddenValue;
+		}
+		
+		@Override
+		public <U extends String> CompletableFuture<List<InterpolatedMessage>> validateAsync(final ValidationContext<U> ctx, Executor executor) {
+			List<InterpolatedMessage> msgs = Collections.<InterpolatedMessage>emptyList();
+			if (forbiddenValue.equals(ctx.getValidatedValue())) {
+				msgs = Collections.singletonList(error(ctx.getElementName(), "{constraints.NotForbidden.message}"));
+			}
+			return CompletableFuture.completedFuture(msgs);
+		}
+	}
+}
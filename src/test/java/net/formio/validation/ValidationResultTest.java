@@ -20,6 +20,7 @@ import static org.junit.Assert.*;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,4 +53,38 @@ public class ValidationResultTest {
 		assertTrue(str.contains("Subject has not valid business number"));
 	}
 
+	@Test
+	public void testMergeSharesMessages() {
+		ValidationResult res1 = new ValidationResult(fieldMessages("email", "Invalid e-mail"), globalMessages("Global 1"));
+		ValidationResult res2 = new ValidationResult(fieldMessages("lastName", "Last name required"), globalMessages("Global 2"));
+		ValidationResult res3 = new ValidationResult(fieldMessages("email", "E-mail required"), globalMessages());
+		
+		assertSame(res1, ValidationResult.merge(Arrays.asList(ValidationResult.empty, res1, ValidationResult.empty)));
+		assertSame(ValidationResult.empty, ValidationResult.merge(Arrays.asList(ValidationResult.empty, ValidationResult.empty)));
+		
+		ValidationResult merged = ValidationResult.merge(Arrays.asList(
+			ValidationResult.merge(Arrays.asList(res1, res2)), res3));
+		assertEquals(2, merged.getFieldMessages().size());
+		assertEquals(Arrays.asList("email", "lastName"), new ArrayList<String>(merged.getFieldMessages().keySet()));
+		assertSame(res3.getFieldMessages().get("email"), merged.getFieldMessages().get("email"));
+		assertSame(res2.getFieldMessages().get("lastName"), merged.getFieldMessages().get("lastName"));
+		assertEquals(2, merged.getGlobalMessages().size());
+		assertEquals("Global 1", merged.getGlobalMessages().get(0).getText());
+		assertEquals("Global 2", merged.getGlobalMessages().get(1).getText());
+		assertFalse(merged.isSuccess());
+	}
+	
+	private Map<String, List<ConstraintViolationMessage>> fieldMessages(String fieldName, String text) {
+		Map<String, List<ConstraintViolationMessage>> fieldMsgs = new LinkedHashMap<String, List<ConstraintViolationMessage>>();
+		fieldMsgs.put(fieldName, globalMessages(text));
+		return fieldMsgs;
+	}
+	
+	private List<ConstraintViolationMessage> globalMessages(String ... texts) {
+		List<ConstraintViolationMessage> msgs = new ArrayList<ConstraintViolationMessage>();
+		for (String text : texts) {
+			msgs.add(new ConstraintViolationMessage(Severity.ERROR, text, text, new LinkedHashMap<String, Serializable>()));
+		}
+		return msgs;
+	}
 }